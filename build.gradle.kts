@@ -24,6 +24,7 @@ plugins {
     `maven-publish`
     id("io.papermc.paperweight.userdev") version "1.3.5"
     id("xyz.jpenilla.run-paper") version "1.0.6"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 group = "pl.blueflow"
@@ -46,6 +47,7 @@ dependencies {
     // Minecraft
     paperDevBundle("1.19-R0.1-SNAPSHOT")
     compileOnly("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
+    jmhImplementation("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
 
     // Libraries
     implementation("commons-io:commons-io:2.11.0")
@@ -56,9 +58,11 @@ dependencies {
     compileOnly("org.projectlombok:lombok:1.18.24")
     annotationProcessor("org.projectlombok:lombok:1.18.24")
     compileOnly("org.jetbrains:annotations:23.0.0")
+    jmhCompileOnly("org.jetbrains:annotations:23.0.0")
 
     // Testing
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.8.2")
+    testImplementation("net.md-5:bungeecord-api:1.19-R0.1-SNAPSHOT")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.8.2")
 }
 
@@ -91,6 +95,10 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion.set("1.35")
+}
+
 configure<PublishingExtension> {
     publishing {
         publications {
@@ -0,0 +1,103 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares translating announcements through the shared converted styles with constructing every component on each call.<br>
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BungeeConversionBenchmark {
+	
+	private static final @NotNull String ANNOUNCEMENT = "@{dark_gray}[@{#51d51d:bold}Network@{dark_gray}] @{gray}Vote for us and get @{gold}${reward}@{gray}! #{link:https://example.com/vote}#{text:(@{gray}Opens the voting page)}@{aqua:underlined}Vote now{/#}{/#}";
+	
+	private static final @NotNull String BAN = "@{red:bold}You are banned from the network!\n@{gray}Appeal at @{aqua}https://example.com/appeal";
+	
+	private final @NotNull TranslatorBungeeAdapter adapter = new TranslatorBungeeAdapter();
+	
+	private final @NotNull Map<String, Object> context = Map.of("reward", "5 keys");
+	
+	private final @NotNull CompiledTemplate announcement = this.adapter.compile(ANNOUNCEMENT);
+	private final @NotNull CompiledTemplate ban          = this.adapter.compile(BAN);
+	
+	private static @NotNull BaseComponent[] naive(@NotNull List<Message> messages) {
+		final @NotNull BaseComponent[] components = new BaseComponent[messages.size()];
+		for(int i = 0; i < components.length; i++) {
+			final @NotNull Message       message   = messages.get(i);
+			final @NotNull TextComponent component = new TextComponent(message.getContent());
+			if(message.getColor() != null) component.setColor(ChatColor.of(String.format("#%06x", message.getColor().getValue())));
+			component.setBold(message.hasDecoration(Message.Decoration.BOLD));
+			component.setItalic(message.hasDecoration(Message.Decoration.ITALIC));
+			component.setUnderlined(message.hasDecoration(Message.Decoration.UNDERLINED));
+			component.setStrikethrough(message.hasDecoration(Message.Decoration.STRIKETHROUGH));
+			component.setObfuscated(message.hasDecoration(Message.Decoration.OBFUSCATED));
+			if(message.getClickEvent() != null) {
+				component.setClickEvent(new ClickEvent(ClickEvent.Action.valueOf(message.getClickEvent().getAction().name()), String.valueOf(message.getClickEvent().getValue())));
+			}
+			if(message.getHoverEvent() != null) {
+				//noinspection unchecked
+				component.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new Text(naive((List<Message>) message.getHoverEvent().getValue()))));
+			}
+			components[i] = component;
+		}
+		return components;
+	}
+	
+	@Benchmark
+	public @NotNull BaseComponent[] announcement() {
+		return this.adapter.translate(this.announcement, this.context);
+	}
+	
+	@Benchmark
+	public @NotNull BaseComponent[] announcementNaive() {
+		return naive(this.announcement.render(this.context));
+	}
+	
+	@Benchmark
+	public @NotNull BaseComponent[] ban() {
+		return this.adapter.translate(this.ban);
+	}
+	
+	@Benchmark
+	public @NotNull BaseComponent[] banNaive() {
+		return naive(this.ban.render());
+	}
+	
+}
@@ -0,0 +1,84 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting chat lines into components through the shared converted styles with chaining a component per style part.<br>
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentConversionBenchmark {
+	
+	/**
+	 * A rank prefix, a name with a click and a hover and a colored chat message.
+	 */
+	private static final @NotNull String LINE = "@{dark_gray}[@{gold:bold}VIP@{dark_gray}] #{suggest:/msg ${player} }#{text:(@{gray}Click to message)}@{yellow}${player}{/#}{/#}@{dark_gray}: @{white}${message}";
+	
+	private final @NotNull TranslatorBukkitAdapter adapter = new TranslatorBukkitAdapter();
+	
+	private final @NotNull Map<String, Object> context = Map.of("player", "Steve", "message", "Hello, World!");
+	
+	private final @NotNull CompiledTemplate template = this.adapter.compile(LINE);
+	
+	private final @NotNull List<Message> messages = this.template.render(this.context);
+	
+	@Benchmark
+	public @NotNull Component template() {
+		return this.adapter.translate(this.template, this.context);
+	}
+	
+	@Benchmark
+	public @NotNull Component source() {
+		return this.adapter.translate(LINE, this.context);
+	}
+	
+	@Benchmark
+	public @NotNull Component chained() {
+		final @NotNull TextComponent.Builder builder = Component.text();
+		for(final @NotNull Message message : this.messages) {
+			@NotNull Component component = Component.text(message.getContent());
+			if(message.getColor() != null) component = component.color(TextColor.color(message.getColor().getValue()));
+			for(final @NotNull TextDecoration decoration : TextDecoration.values()) {
+				component = component.decoration(decoration, message.hasDecoration(Message.Decoration.valueOf(decoration.name())));
+			}
+			builder.append(component);
+		}
+		return builder.build();
+	}
+	
+}
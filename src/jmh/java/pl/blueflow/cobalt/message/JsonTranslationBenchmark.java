@@ -0,0 +1,72 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing chat JSON straight from the parser with building components and serializing them through Adventure.<br>
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonTranslationBenchmark {
+	
+	private static final @NotNull String LINE = "@{dark_gray}[@{gold:bold}VIP@{dark_gray}] #{suggest:/msg ${player} }#{text:(@{gray}Click to message)}@{yellow}${player}{/#}{/#}@{dark_gray}: @{white}${message}";
+	
+	private final @NotNull TranslatorJsonAdapter   json   = new TranslatorJsonAdapter();
+	private final @NotNull TranslatorBukkitAdapter bukkit = new TranslatorBukkitAdapter();
+	
+	private final @NotNull Map<String, Object> context = Map.of("player", "Steve", "message", "Hello, World!");
+	
+	private final @NotNull CompiledTemplate template = this.json.compile(LINE);
+	
+	@Benchmark
+	public @NotNull String jsonSource() {
+		return this.json.translate(LINE, this.context);
+	}
+	
+	@Benchmark
+	public @NotNull String jsonTemplate() {
+		return this.json.translate(this.template, this.context);
+	}
+	
+	@Benchmark
+	public @NotNull String adventureSource() {
+		return GsonComponentSerializer.gson().serialize(this.bukkit.translate(LINE, this.context));
+	}
+	
+	@Benchmark
+	public @NotNull String adventureTemplate() {
+		return GsonComponentSerializer.gson().serialize(this.bukkit.translate(this.template, this.context));
+	}
+	
+}
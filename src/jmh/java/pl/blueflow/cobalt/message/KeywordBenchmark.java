@@ -0,0 +1,107 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching style modifiers through the keyword tables with the previous exception-driven lookup.<br>
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordBenchmark {
+	
+	/**
+	 * A style tag as it's found in a lore line, modifiers are matched straight from the source.
+	 */
+	private static final @NotNull String SOURCE = "@{gray:Dark_Aqua:#51d51d:16777215:bold:italics:unknown}";
+	
+	private static final @NotNull String[] MODIFIERS = SOURCE.substring(2, SOURCE.length() - 1).split(":");
+	
+	@Benchmark
+	public void table(@NotNull Blackhole blackhole) {
+		int from = 2;
+		for(final @NotNull String modifier : MODIFIERS) {
+			final int to = from + modifier.length();
+			final @Nullable Message.Color color = Message.Color.matchColor(SOURCE, from, to);
+			blackhole.consume(color != null ? color : Message.Decoration.matchDecoration(SOURCE, from, to));
+			from = to + 1;
+		}
+	}
+	
+	@Benchmark
+	public void legacy(@NotNull Blackhole blackhole) {
+		int from = 2;
+		for(final @NotNull String modifier : MODIFIERS) {
+			final int to = from + modifier.length();
+			final @NotNull String substring = SOURCE.substring(from, to);
+			final @Nullable Message.Color color = legacyMatchColor(substring);
+			blackhole.consume(color != null ? color : legacyMatchDecoration(substring));
+			from = to + 1;
+		}
+	}
+	
+	/**
+	 * The previous lookup, the name switch is abridged to the names used by the benchmark.
+	 */
+	private static @Nullable Message.Color legacyMatchColor(@NotNull String color) {
+		if(color.startsWith("#")) {
+			try {
+				return Message.Color.color(Integer.parseInt(color.substring(1), 16));
+			} catch(NumberFormatException ex) {
+				return null;
+			}
+		}
+		
+		try {
+			return Message.Color.color(Integer.parseInt(color));
+		} catch(NumberFormatException ignored) {
+		}
+		
+		return switch(color.toLowerCase()) {
+			case "black" -> Message.Color.BLACK;
+			case "dark-aqua", "dark_aqua" -> Message.Color.DARK_AQUA;
+			case "gray", "grey" -> Message.Color.GRAY;
+			case "red" -> Message.Color.RED;
+			default -> null;
+		};
+	}
+	
+	private static @Nullable Message.Decoration legacyMatchDecoration(@NotNull String decoration) {
+		return switch(decoration.toLowerCase()) {
+			case "bold" -> Message.Decoration.BOLD;
+			case "italic", "italics" -> Message.Decoration.ITALIC;
+			default -> null;
+		};
+	}
+	
+}
@@ -0,0 +1,70 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parsing scales with the message's length and nesting depth, the time per operation should grow linearly with both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTranslatorBenchmark {
+	
+	private static final @NotNull String SEGMENT = "@{red}Hello, #{link:https://example.com}#{text:(@{gray}Hover)}World{/#}{/#}! ";
+	
+	private final @NotNull MessageTranslator translator = new MessageTranslator();
+	
+	/**
+	 * Number of times the segment is repeated, or number of nested actions.
+	 */
+	@Param({"16", "64", "256", "1024"})
+	private int size;
+	
+	private @NotNull String sequential = "";
+	private @NotNull String nested     = "";
+	
+	@Setup
+	public void setup() {
+		this.sequential = SEGMENT.repeat(this.size);
+		this.nested     = "#{link:https://example.com}@{red}Deeper ".repeat(this.size) + "{/#}".repeat(this.size);
+	}
+	
+	@Benchmark
+	public @NotNull List<Message> sequential() {
+		return this.translator.parse(this.sequential);
+	}
+	
+	@Benchmark
+	public @NotNull List<Message> nested() {
+		return this.translator.parse(this.nested);
+	}
+	
+}
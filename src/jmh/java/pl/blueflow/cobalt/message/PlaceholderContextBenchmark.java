@@ -0,0 +1,72 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a template with values looked up by name from a map and by index from a placeholder context.<br>
+ * Both build their values on every invocation, the way a caller does for every message.
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderContextBenchmark {
+	
+	private static final @NotNull PlaceholderKey<String>  PLAYER  = PlaceholderKey.of("player");
+	private static final @NotNull PlaceholderKey<Integer> AMOUNT  = PlaceholderKey.of("amount");
+	private static final @NotNull PlaceholderKey<Double>  BALANCE = PlaceholderKey.of("balance");
+	
+	private final @NotNull CompiledTemplate template = new MessageTranslator().compile(
+		"@{gray}${player} @{green}paid @{gold}${amount} coins@{gray}, balance @{gold}${balance}"
+	);
+	
+	private int amount = 0;
+	
+	@Benchmark
+	public @NotNull List<Message> map() {
+		final @NotNull Map<String, Object> context = new HashMap<>();
+		context.put("player", "Steve");
+		context.put("amount", this.amount++);
+		context.put("balance", 1024.5);
+		return this.template.render(context);
+	}
+	
+	@Benchmark
+	public @NotNull List<Message> placeholderContext() {
+		return this.template.render(new PlaceholderContext()
+			.set(PLAYER, "Steve")
+			.setInt(AMOUNT, this.amount++)
+			.setDouble(BALANCE, 1024.5));
+	}
+	
+}
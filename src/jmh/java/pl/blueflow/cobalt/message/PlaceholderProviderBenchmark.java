@@ -0,0 +1,132 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing server-wide placeholders for every message with sharing them through placeholder providers.<br>
+ * Every invocation is a tick sending a message to each of 500 simulated players, scores are per message.
+ * Run with <code>-prof gc</code> to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderProviderBenchmark {
+	
+	private static final int PLAYERS = 500;
+	
+	private static final @NotNull String MESSAGE = "@{gray}[${server}] @{white}${player}@{gray}: ${online} online, ${tps} TPS, ping ${ping} ms";
+	
+	private final @NotNull MessageTranslator perCall  = new MessageTranslator();
+	private final @NotNull MessageTranslator provided = new MessageTranslator();
+	
+	private final @NotNull CompiledTemplate perCallTemplate  = this.perCall.compile(MESSAGE);
+	private final @NotNull CompiledTemplate providedTemplate = this.provided.compile(MESSAGE);
+	
+	private final @NotNull SimulatedPlayer[] players   = new SimulatedPlayer[PLAYERS];
+	private final @NotNull double[]          tickTimes = new double[100];
+	
+	@Setup
+	public void setup() {
+		for(int i = 0; i < PLAYERS; i++) {
+			this.players[i] = new SimulatedPlayer("Player" + i, i % 7 != 0, 20 + i % 180);
+		}
+		for(int i = 0; i < this.tickTimes.length; i++) {
+			this.tickTimes[i] = 45 + i % 10;
+		}
+		
+		final @NotNull PlaceholderProviders providers = this.provided.getProviders();
+		providers.register(PlaceholderProvider.ofStatic("server", () -> "Lobby"));
+		providers.register(PlaceholderProvider.perTick("online", this::online));
+		providers.register(PlaceholderProvider.timed("tps", Duration.ofSeconds(1), this::tps));
+		providers.register(PlaceholderProvider.perPlayerTick("ping", SimulatedPlayer.class, player -> player.ping));
+	}
+	
+	/**
+	 * Counts the players visible to others, the way a plugin does it for a message.
+	 */
+	private int online() {
+		int online = 0;
+		for(final @NotNull SimulatedPlayer player : this.players) {
+			if(player.visible) online++;
+		}
+		return online;
+	}
+	
+	private double tps() {
+		double total = 0;
+		for(final double tickTime : this.tickTimes) {
+			total += tickTime;
+		}
+		return Math.min(20, Math.round(1000 / (total / this.tickTimes.length) * 100) / 100.0);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(PLAYERS)
+	public void perCall(@NotNull Blackhole blackhole) {
+		for(final @NotNull SimulatedPlayer player : this.players) {
+			final @NotNull Map<String, Object> context = new HashMap<>();
+			context.put("server", "Lobby");
+			context.put("player", player.name);
+			context.put("online", this.online());
+			context.put("tps", this.tps());
+			context.put("ping", player.ping);
+			blackhole.consume(this.perCall.render(this.perCallTemplate, context));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(PLAYERS)
+	public void providers(@NotNull Blackhole blackhole) {
+		final @NotNull PlaceholderProviders providers = this.provided.getProviders();
+		providers.tick();
+		for(final @NotNull SimulatedPlayer player : this.players) {
+			blackhole.consume(this.provided.render(this.providedTemplate, providers.context(player, Map.of("player", player.name))));
+		}
+	}
+	
+	private static final class SimulatedPlayer {
+		
+		private final @NotNull String  name;
+		private final          boolean visible;
+		private final          int     ping;
+		
+		private SimulatedPlayer(@NotNull String name, boolean visible, int ping) {
+			this.name    = name;
+			this.visible = visible;
+			this.ping    = ping;
+		}
+		
+	}
+	
+}
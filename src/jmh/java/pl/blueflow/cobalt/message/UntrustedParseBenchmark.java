@@ -0,0 +1,110 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds crafted and random input to the untrusted parse mode, the sampled latency per character should stay flat
+ * for every input kind and size, including the worst percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UntrustedParseBenchmark {
+	
+	/**
+	 * The whole language with limits high enough to let the largest inputs through.
+	 */
+	private static final @NotNull ParseProfile PERMISSIVE = ParseProfile
+		.builder()
+		.maxLength(1 << 20)
+		.maxTags(1 << 20)
+		.maxDepth(1 << 20)
+		.build();
+	
+	private static final @NotNull String[] FRAGMENTS = {
+		"#{", "@{", "${", "}", "{/#}", "{//#}", "##{", "@@{", "$${", "(", ")", "\\)", ":", "link", "text", "red", "bold", "a", " "
+	};
+	
+	private final @NotNull MessageTranslator translator = new MessageTranslator();
+	
+	@Param({"1024", "16384", "262144"})
+	private int length;
+	
+	@Param({"unterminatedActions", "unclosedActions", "danglingEnds", "styleSpam", "escapes", "random"})
+	private String kind;
+	
+	private @NotNull String input = "";
+	
+	@Setup
+	public void setup() {
+		this.input = switch(this.kind) {
+			case "unterminatedActions" -> repeat("#{link:", this.length);
+			case "unclosedActions" -> repeat("#{link:a}", this.length);
+			case "danglingEnds" -> repeat("{/#}", this.length);
+			case "styleSpam" -> repeat("@{red}a", this.length);
+			case "escapes" -> repeat("##{@@{$${{//#}", this.length);
+			case "random" -> random(this.length);
+			default -> throw new IllegalArgumentException(this.kind);
+		};
+	}
+	
+	private static @NotNull String repeat(@NotNull String fragment, int length) {
+		return fragment.repeat(length / fragment.length() + 1).substring(0, length);
+	}
+	
+	private static @NotNull String random(int length) {
+		final @NotNull Random random = new Random(0x51d51dL);
+		final @NotNull StringBuilder builder = new StringBuilder(length + 8);
+		while(builder.length() < length) {
+			builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+		}
+		return builder.substring(0, length);
+	}
+	
+	@Benchmark
+	public Object permissive() {
+		try {
+			return this.translator.parseUntrusted(this.input, PERMISSIVE);
+		} catch(MessageFormattingException ex) {
+			return ex;
+		}
+	}
+	
+	@Benchmark
+	public Object chat() {
+		try {
+			return this.translator.parseUntrusted(this.input, ParseProfile.CHAT);
+		} catch(MessageFormattingException ex) {
+			return ex;
+		}
+	}
+	
+}
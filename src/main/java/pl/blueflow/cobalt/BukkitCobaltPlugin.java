@@ -31,12 +31,19 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import pl.blueflow.cobalt.config.enhanced.BukkitEnhancedConfiguration;
+import pl.blueflow.cobalt.config.enhanced.MessageBundles;
 import pl.blueflow.cobalt.helper.Helper;
+import pl.blueflow.cobalt.message.MessageDiagnostic;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Default {@link CobaltPlugin} implementation for Bukkit.
@@ -80,9 +87,45 @@ public abstract class BukkitCobaltPlugin extends JavaPlugin implements CobaltPlu
 	@Setter(AccessLevel.PROTECTED)
 	private boolean replaceExistingConfig = false;
 	
+	/**
+	 * Paths of the default configuration's messages and sections of messages,
+	 * compiled and validated on a worker thread during {@link #onEnable()}, see {@link BukkitEnhancedConfiguration#precompileMessages(Collection)}.<br>
+	 * Placeholder values of these messages are inserted as plain text rather than parsed as tags.
+	 * Problems of all malformed messages are logged in a single warning, defaults to none.
+	 */
+	@Setter(AccessLevel.PROTECTED)
+	private @NotNull Collection<String> messagePaths = List.of();
+	
+	/**
+	 * Base name of the message bundles among the resources and in the data folder, e.g. <code>messages</code> for <code>messages.yml</code>,
+	 * <code>messages_pl.yml</code> and so on, see {@link MessageBundles}.<br>
+	 * Bundles are compiled and validated on a worker thread like the configuration's {@link #messagePaths} when they're loaded,
+	 * the fallback locale's bundles are loaded during {@link #onEnable()}, defaults to null, i.e. no bundles.
+	 */
+	@Setter(AccessLevel.PROTECTED)
+	private @Nullable String messageBundle = null;
+	
+	/**
+	 * Locale to look up messages missing from a player's locale in, defaults to English.
+	 */
+	@Setter(AccessLevel.PROTECTED)
+	private @NotNull Locale messageFallbackLocale = Locale.ENGLISH;
+	
+	/**
+	 * Time a message bundle may stay unused before it's unloaded, defaults to 10 minutes.
+	 */
+	@Setter(AccessLevel.PROTECTED)
+	private @NotNull Duration messageBundleIdleTimeout = Duration.ofMinutes(10);
+	
 	@Getter
 	private BukkitEnhancedConfiguration configuration;
 	
+	/**
+	 * Localized messages, null if {@link #messageBundle} isn't set.
+	 */
+	@Getter
+	private @Nullable MessageBundles messages;
+	
 	@Override
 	public final void onLoad() {
 		this.configure();
@@ -105,9 +148,49 @@ public abstract class BukkitCobaltPlugin extends JavaPlugin implements CobaltPlu
 			new FileInputStream(this.configurationSource)
 		);
 		
+		if(!this.messagePaths.isEmpty()) {
+			// Messages are read on the main thread, only the snapshot is compiled on a worker thread.
+			final @NotNull BukkitEnhancedConfiguration configuration = this.configuration;
+			final @NotNull Map<String, String>         messages      = configuration.collectMessages(this.messagePaths);
+			this.getServer().getScheduler().runTaskAsynchronously(this, () -> this.reportMessages(this.configurationSource.getName(), configuration.precompileMessages(messages)));
+		}
+		
+		if(this.messageBundle != null) {
+			final @NotNull MessageBundles messages = new MessageBundles(
+				this.getDataFolder(),
+				this.getClass(),
+				this.messageBundle,
+				this.messageFallbackLocale,
+				this.messageBundleIdleTimeout,
+				this.messagePaths,
+				runnable -> this.getServer().getScheduler().runTaskAsynchronously(this, runnable),
+				this::reportMessages
+			);
+			messages.preload(List.of(this.messageFallbackLocale));
+			// Idle bundles are checked twice per timeout, in ticks.
+			final long period = Math.max(1, this.messageBundleIdleTimeout.toMillis() / 100);
+			this.getServer().getScheduler().runTaskTimerAsynchronously(this, messages::evictIdle, period, period);
+			this.messages = messages;
+		}
+		
 		this.start();
 	}
 	
+	private void reportMessages(@NotNull String file, @NotNull Map<String, List<MessageDiagnostic>> report) {
+		if(report.isEmpty()) return;
+		final @NotNull StringBuilder builder = new StringBuilder()
+			.append(report.size())
+			.append(" malformed message(s) in ")
+			.append(file)
+			.append(':');
+		report.forEach((key, diagnostics) -> {
+			for(final @NotNull MessageDiagnostic diagnostic : diagnostics) {
+				builder.append("\n  ").append(key).append(" at ").append(diagnostic.getPosition()).append(": ").append(diagnostic.getMessage());
+			}
+		});
+		this.getSLF4JLogger().warn(builder.toString());
+	}
+	
 	@Override
 	public final void onDisable() {
 		this.stop();
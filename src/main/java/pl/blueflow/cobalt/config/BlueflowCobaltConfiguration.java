@@ -55,6 +55,8 @@ public class BlueflowCobaltConfiguration implements CobaltConfiguration {
 	
 	@SneakyThrows
 	public BlueflowCobaltConfiguration(@NotNull File file, @Nullable InputStream defaultsStream, @NotNull InputStream sourceStream) {
+		final @NotNull ConfigurationLoadEvent event = new ConfigurationLoadEvent();
+		event.begin();
 		this.file = file;
 		
 		this.defaults = Collections.unmodifiableMap(defaultsStream != null ? YAML.load(defaultsStream) : new HashMap<>());
@@ -64,6 +66,13 @@ public class BlueflowCobaltConfiguration implements CobaltConfiguration {
 		
 		if(defaultsStream != null) defaultsStream.close();
 		sourceStream.close();
+		
+		if(event.shouldCommit()) {
+			event.file     = file.getPath();
+			event.fileSize = file.length();
+			event.keys     = this.source.size();
+			event.commit();
+		}
 	}
 	
 	protected static @NotNull Map<String, Object> resolveParentMap(@NotNull Map<String, Object> sourceMap, @NotNull String key) {
@@ -141,13 +150,22 @@ public class BlueflowCobaltConfiguration implements CobaltConfiguration {
 	
 	@Override
 	public void set(@NotNull String key, @Nullable Object value) {
-		resolveParentMap(this.source, key).put(key, value);
+		resolveParentMap(this.source, key).put(resolveLastKey(key), value);
 	}
 	
 	@Override
 	@SneakyThrows
 	public void save() {
-		YAML.dump(this.source, new FileWriter(this.file));
+		final @NotNull ConfigurationSaveEvent event = new ConfigurationSaveEvent();
+		event.begin();
+		try(final @NotNull FileWriter writer = new FileWriter(this.file)) {
+			YAML.dump(this.source, writer);
+		}
+		if(event.shouldCommit()) {
+			event.file     = this.file.getPath();
+			event.fileSize = this.file.length();
+			event.commit();
+		}
 	}
 	
 	@Override
@@ -21,27 +21,93 @@
 
 package pl.blueflow.cobalt.config.enhanced;
 
-import lombok.Getter;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import pl.blueflow.cobalt.config.BlueflowCobaltConfiguration;
+import pl.blueflow.cobalt.message.CompiledTemplate;
+import pl.blueflow.cobalt.message.MessageDiagnostic;
+import pl.blueflow.cobalt.message.MessageFormattingException;
+import pl.blueflow.cobalt.message.MessageTranslator;
+import pl.blueflow.cobalt.message.ParseProfile;
+import pl.blueflow.cobalt.message.PlaceholderProviders;
 import pl.blueflow.cobalt.message.TranslatorBukkitAdapter;
+import pl.blueflow.cobalt.message.TranslatorMetrics;
 
 import java.io.File;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration implements MaterialAccessors, MessageAccessors<Component> {
 	
 	private static final @NotNull TranslatorBukkitAdapter TRANSLATOR_ADAPTER = new TranslatorBukkitAdapter();
 	
-	@Getter
-	private final @NotNull Map<String, Object> defaultContext = new HashMap<>();
+	/**
+	 * Maximum number of distinct messages without placeholders kept translated, an arbitrary one is evicted to make room for another.
+	 */
+	protected static final int STATIC_MESSAGE_CACHE_SIZE = 1024;
+	
+	/**
+	 * Maximum number of distinct messages kept compiled, further messages are parsed on every translation.
+	 */
+	protected static final int TEMPLATE_CACHE_SIZE = 4096;
+	
+	/**
+	 * The trusted language, reporting all problems of a message instead of the first one.
+	 */
+	private static final @NotNull ParseProfile VALIDATION_PROFILE = ParseProfile.builder().lenient(true).build();
+	
+	/**
+	 * Placeholders of every configuration's messages, below each configuration's default context, an immutable snapshot.
+	 */
+	private static volatile @NotNull Map<String, Object> globalContext = Map.of();
+	
+	static {
+		TRANSLATOR_ADAPTER.getProviders().setTickSource(Bukkit::getCurrentTick);
+	}
+	
+	/**
+	 * Placeholders of all messages of this configuration, below the ones passed with a message, an immutable snapshot.
+	 */
+	private volatile @NotNull Map<String, Object> defaultContext = Map.of();
+	
+	/**
+	 * A mutable view of the default context, for callers modifying the map returned by {@link #getDefaultContext()}.
+	 */
+	private final @NotNull Map<String, Object> defaultContextView = new DefaultContextView();
+	
+	/**
+	 * The default context layered over the global one, rebuilt once either of them is replaced.
+	 */
+	private volatile @NotNull InheritedContext inheritedContext = new InheritedContext(Map.of(), Map.of());
+	
+	/**
+	 * Translated messages without placeholders keyed by their source, filled by {@link #precompileMessages(Map)} at load
+	 * and by the first lookup of any other message, cleared whenever the configuration changes.
+	 */
+	private final @NotNull Map<String, StaticMessage> staticMessages = new ConcurrentHashMap<>();
+	
+	/**
+	 * Compiled messages of the literal paths keyed by their source.
+	 */
+	private final @NotNull Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+	
+	/**
+	 * Sources of messages of the literal paths which can't be compiled, see {@link MessageTranslator#compile(String)}.
+	 */
+	private final @NotNull Set<String> uncompilable = ConcurrentHashMap.newKeySet();
+	
+	/**
+	 * Paths registered by {@link #collectMessages(Collection)}, messages under them insert placeholder values literally, an immutable snapshot.
+	 */
+	private volatile @NotNull List<String> literalPaths = List.of();
 	
 	public BukkitEnhancedConfiguration(@NotNull File file, @Nullable InputStream defaultsStream, @NotNull InputStream sourceStream) {
 		super(file, defaultsStream, sourceStream);
@@ -54,6 +120,100 @@ public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration imp
 		return matched;
 	}
 	
+	/**
+	 * Returns the placeholders of every configuration's messages, an immutable snapshot.
+	 */
+	public static @NotNull Map<String, Object> getGlobalContext() {
+		return globalContext;
+	}
+	
+	/**
+	 * Replaces the placeholders of every configuration's messages with a snapshot of the values, null values are left out.
+	 */
+	public static void setGlobalContext(@NotNull Map<String, Object> context) {
+		globalContext = snapshot(context);
+	}
+	
+	/**
+	 * Copies the placeholders into an immutable snapshot, leaving out null keys and values, a null value was never substituted anyway.
+	 */
+	static @NotNull Map<String, Object> snapshot(@NotNull Map<String, Object> context) {
+		final @NotNull Map<String, Object> copy = new HashMap<>(context.size());
+		for(final @NotNull Map.Entry<String, Object> entry : context.entrySet()) {
+			if(entry.getKey() != null && entry.getValue() != null) copy.put(entry.getKey(), entry.getValue());
+		}
+		return Map.copyOf(copy);
+	}
+	
+	/**
+	 * Returns a view of the placeholders of all messages of this configuration, always reflecting the current snapshot.<br>
+	 * Modifying the view publishes a new snapshot on every change, the same way {@link #putDefaultContext(String, Object)} does.
+	 *
+	 * @deprecated Modify the default context with {@link #setDefaultContext(Map)} and {@link #putDefaultContext(String, Object)},
+	 * read it with {@link #getDefaultContextSnapshot()}.
+	 */
+	@Deprecated
+	public @NotNull Map<String, Object> getDefaultContext() {
+		return this.defaultContextView;
+	}
+	
+	/**
+	 * Returns the placeholders of all messages of this configuration, an immutable snapshot.
+	 */
+	public @NotNull Map<String, Object> getDefaultContextSnapshot() {
+		return this.defaultContext;
+	}
+	
+	/**
+	 * Replaces the placeholders of this configuration's messages with a snapshot of the values, null values are left out.<br>
+	 * Translations already in progress keep using the previous snapshot.
+	 */
+	public synchronized void setDefaultContext(@NotNull Map<String, Object> context) {
+		this.defaultContext = snapshot(context);
+	}
+	
+	/**
+	 * Publishes a snapshot of the default context with the placeholder added or replaced, a null value removes the placeholder instead.
+	 *
+	 * @return the previous value, null if there was none
+	 */
+	public synchronized @Nullable Object putDefaultContext(@NotNull String key, @Nullable Object value) {
+		if(value == null) return this.removeDefaultContext(key);
+		final @NotNull Map<String, Object> context  = new HashMap<>(this.defaultContext);
+		final @Nullable Object             previous = context.put(key, value);
+		this.defaultContext = Map.copyOf(context);
+		return previous;
+	}
+	
+	/**
+	 * Publishes a snapshot of the default context without the placeholder.
+	 *
+	 * @return the removed value, null if there was none
+	 */
+	public synchronized @Nullable Object removeDefaultContext(@NotNull String key) {
+		if(!this.defaultContext.containsKey(key)) return null;
+		final @NotNull Map<String, Object> context  = new HashMap<>(this.defaultContext);
+		final @Nullable Object             previous = context.remove(key);
+		this.defaultContext = Map.copyOf(context);
+		return previous;
+	}
+	
+	/**
+	 * Returns the placeholders of a message, the passed ones over the default context over the global context, without copying any of them.
+	 */
+	private @NotNull Map<String, Object> context(@Nullable Map<String, Object> context) {
+		@NotNull InheritedContext inherited = this.inheritedContext;
+		if(inherited.defaults != this.defaultContext || inherited.global != globalContext) {
+			inherited             = new InheritedContext(this.defaultContext, globalContext);
+			this.inheritedContext = inherited;
+		}
+		return LayeredContext.of(context, inherited.context);
+	}
+	
+	/**
+	 * @deprecated Copies both maps, messages' placeholders are layered over the default context without copying instead.
+	 */
+	@Deprecated
 	protected static <K, V> @NotNull Map<K, V> joinMaps(@NotNull Map<K, V> defaults, @Nullable Map<K, V> put) {
 		if(put == null) return defaults;
 		final @NotNull Map<K, V> result = new HashMap<>(put);
@@ -61,6 +221,214 @@ public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration imp
 		return result;
 	}
 	
+	/**
+	 * Returns the metrics of the translator shared by all configurations, including the cache hits and the renders of every configuration's keys.
+	 */
+	public static @NotNull TranslatorMetrics getMetrics() {
+		return TRANSLATOR_ADAPTER.getMetrics();
+	}
+	
+	/**
+	 * Returns the placeholder providers of the translator shared by all configurations, ticked by the server.<br>
+	 * Provided placeholders are below the global context, unless a message's placeholders are passed for a player
+	 * with {@link PlaceholderProviders#context(Object, Map)}, then they're right below the message's placeholders.
+	 */
+	public static @NotNull PlaceholderProviders getProviders() {
+		return TRANSLATOR_ADAPTER.getProviders();
+	}
+	
+	/**
+	 * Records a render of the key started at the time and returns the result.
+	 */
+	private static <T> T rendered(@NotNull String key, long start, T result) {
+		getMetrics().recordKey(key, start);
+		return result;
+	}
+	
+	/**
+	 * Returns the message translated only once if it has no placeholders, the context doesn't affect such messages.<br>
+	 * Messages under the literal paths are rendered as compiled templates, whether they're cached or not,
+	 * all other messages are substituted and parsed, see {@link #precompileMessages(Collection)}.
+	 *
+	 * @param key the message's key, for the flight recorder
+	 */
+	private @NotNull Component translate(@NotNull String key, @NotNull String message, @NotNull Map<String, Object> context) {
+		final @NotNull MessageTranslateEvent event = new MessageTranslateEvent();
+		event.begin();
+		final @Nullable StaticMessage cached = this.staticMessage(message);
+		if(cached != null) return commit(event, key, message, true, cached.component);
+		if(this.isLiteral(key)) {
+			final @Nullable CompiledTemplate template = this.templates.get(message);
+			if(template != null) {
+				getMetrics().hit(TranslatorMetrics.Cache.TEMPLATES);
+				return commit(event, key, message, true, TRANSLATOR_ADAPTER.translate(template, context));
+			}
+			getMetrics().miss(TranslatorMetrics.Cache.TEMPLATES);
+			final @Nullable CompiledTemplate compiled = this.compileLiteral(message);
+			if(compiled != null) return commit(event, key, message, false, TRANSLATOR_ADAPTER.translate(compiled, context));
+		}
+		return commit(event, key, message, false, TRANSLATOR_ADAPTER.translate(message, context));
+	}
+	
+	/**
+	 * Returns whether the key is one of the literal paths or below one of them.
+	 */
+	private boolean isLiteral(@NotNull String key) {
+		for(final @NotNull String path : this.literalPaths) {
+			if(key.startsWith(path) && (key.length() == path.length() || key.charAt(path.length()) == '.')) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Compiles a message of the literal paths, caching the template if there's room left.
+	 *
+	 * @return null if the message can't be compiled, i.e. it has placeholders inside tags, such messages are always substituted and parsed
+	 */
+	private @Nullable CompiledTemplate compileLiteral(@NotNull String message) {
+		if(this.uncompilable.contains(message)) return null;
+		final @NotNull CompiledTemplate template;
+		try {
+			template = TRANSLATOR_ADAPTER.compile(message);
+		} catch(MessageFormattingException ex) {
+			if(this.uncompilable.size() < TEMPLATE_CACHE_SIZE) this.uncompilable.add(message);
+			return null;
+		}
+		if(this.templates.size() >= TEMPLATE_CACHE_SIZE) return template;
+		final @Nullable CompiledTemplate previous = this.templates.putIfAbsent(message, template);
+		return previous != null ? previous : template;
+	}
+	
+	private static <T> T commit(@NotNull MessageTranslateEvent event, @NotNull String key, @NotNull String message, boolean cached, T result) {
+		if(event.shouldCommit()) {
+			event.key          = key;
+			event.sourceLength = message.length();
+			event.cached       = cached;
+			event.commit();
+		}
+		return result;
+	}
+	
+	/**
+	 * Compiles every message found under the paths and checks them all, the compiled messages are used by all later translations.<br>
+	 * Paths are looked up in the defaults, every string, list of strings and section of them below a path is a message.
+	 * The values themselves come from the configuration, i.e. from the defaults only if they're missing.<br>
+	 * Placeholder values of all messages under the paths are inserted as plain text from now on, see {@link MessageTranslator#compile(String)},
+	 * while values of other messages are still substituted before parsing, so they may contain tags.
+	 * Messages with placeholders inside tags can't be compiled, their values are always substituted
+	 * and they aren't reported, since their tags can only be checked once the values are known.
+	 * Messages without placeholders are translated and serialized right away instead.
+	 *
+	 * @param paths paths of the defaults' messages or sections of messages
+	 * @return problems of every malformed message keyed by the message's key, list elements are suffixed with their index, empty if all messages are well-formed
+	 */
+	public @NotNull Map<String, List<MessageDiagnostic>> precompileMessages(@NotNull Collection<String> paths) {
+		return this.precompileMessages(this.collectMessages(paths));
+	}
+	
+	/**
+	 * Registers the paths as literal paths and returns a snapshot of the messages below them, see {@link #precompileMessages(Collection)}.<br>
+	 * Meant to be called on the thread owning the configuration, the snapshot can be compiled on any other thread with {@link #precompileMessages(Map)}.
+	 *
+	 * @return messages keyed by their key, list elements are suffixed with their index
+	 */
+	public @NotNull Map<String, String> collectMessages(@NotNull Collection<String> paths) {
+		this.addLiteralPaths(paths);
+		final @NotNull Map<String, String> messages = new LinkedHashMap<>();
+		for(final @NotNull String path : paths) {
+			try {
+				this.collectMessages(path, resolveParentMap(this.getDefaults(), path).get(resolveLastKey(path)), messages);
+			} catch(IllegalArgumentException ignored) {
+			}
+		}
+		return messages;
+	}
+	
+	private synchronized void addLiteralPaths(@NotNull Collection<String> paths) {
+		final @NotNull Set<String> literalPaths = new LinkedHashSet<>(this.literalPaths);
+		literalPaths.addAll(paths);
+		this.literalPaths = List.copyOf(literalPaths);
+	}
+	
+	/**
+	 * Compiles and checks a snapshot of messages from {@link #collectMessages(Collection)}, safe to call on any thread.<br>
+	 * Messages without placeholders are cached as translated and serialized, so the first send doesn't pay for either.
+	 *
+	 * @return problems of every malformed message keyed by the message's key, empty if all messages are well-formed
+	 */
+	public @NotNull Map<String, List<MessageDiagnostic>> precompileMessages(@NotNull Map<String, String> messages) {
+		final @NotNull Map<String, List<MessageDiagnostic>> report = new LinkedHashMap<>();
+		for(final @NotNull Map.Entry<String, String> entry : messages.entrySet()) {
+			final @NotNull List<MessageDiagnostic> diagnostics = TRANSLATOR_ADAPTER.validateTemplate(entry.getValue(), VALIDATION_PROFILE);
+			final boolean deferred = diagnostics.removeIf(diagnostic -> diagnostic.getKind() == MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG);
+			if(!diagnostics.isEmpty()) {
+				report.put(entry.getKey(), diagnostics);
+				continue;
+			}
+			if(deferred) {
+				if(this.uncompilable.size() < TEMPLATE_CACHE_SIZE) this.uncompilable.add(entry.getValue());
+				continue;
+			}
+			if(!entry.getValue().contains(MessageTranslator.PLACEHOLDER_PREFIX)) {
+				if(!this.staticMessages.containsKey(entry.getValue())) this.cacheStaticMessage(entry.getValue()).json();
+				continue;
+			}
+			if(!this.templates.containsKey(entry.getValue())) this.compileLiteral(entry.getValue());
+		}
+		return report;
+	}
+	
+	private void collectMessages(@NotNull String key, @Nullable Object defaults, @NotNull Map<String, String> messages) {
+		if(defaults instanceof Map<?, ?> section) {
+			for(final @NotNull Map.Entry<?, ?> entry : section.entrySet()) {
+				this.collectMessages(key + "." + entry.getKey(), entry.getValue(), messages);
+			}
+			return;
+		}
+		
+		final @Nullable Object value = this.get(key, null);
+		if(value instanceof String message) {
+			messages.put(key, message);
+		} else if(value instanceof List<?> list) {
+			for(int i = 0; i < list.size(); i++) {
+				if(list.get(i) instanceof String message) messages.put(key + "[" + i + "]", message);
+			}
+		}
+	}
+	
+	private @Nullable StaticMessage staticMessage(@NotNull String message) {
+		if(message.contains(MessageTranslator.PLACEHOLDER_PREFIX)) return null;
+		final @Nullable StaticMessage cached = this.staticMessages.get(message);
+		if(cached != null) {
+			getMetrics().hit(TranslatorMetrics.Cache.STATIC_MESSAGES);
+			return cached;
+		}
+		getMetrics().miss(TranslatorMetrics.Cache.STATIC_MESSAGES);
+		return this.cacheStaticMessage(message);
+	}
+	
+	/**
+	 * Translates a message without placeholders and caches it, evicting an arbitrary message once the cache is full.
+	 */
+	private @NotNull StaticMessage cacheStaticMessage(@NotNull String message) {
+		final @NotNull StaticMessage created = new StaticMessage(TRANSLATOR_ADAPTER.translate(message));
+		if(this.staticMessages.size() >= STATIC_MESSAGE_CACHE_SIZE) {
+			final @NotNull Iterator<String> iterator = this.staticMessages.keySet().iterator();
+			if(iterator.hasNext()) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+		final @Nullable StaticMessage previous = this.staticMessages.putIfAbsent(message, created);
+		return previous != null ? previous : created;
+	}
+	
+	@Override
+	public void set(@NotNull String key, @Nullable Object value) {
+		super.set(key, value);
+		this.staticMessages.clear();
+	}
+	
 	@Override
 	public @Nullable Material getMaterial(@NotNull String key) {
 		return this.getMaterial(key, null);
@@ -125,16 +493,18 @@ public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration imp
 	
 	@Override
 	public @Nullable Component getMessage(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Component onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable String message = this.getString(key);
 		if(message == null) return onEmpty;
-		return TRANSLATOR_ADAPTER.translate(message, joinMaps(this.defaultContext, context));
+		return rendered(key, start, this.translate(key, message, this.context(context)));
 	}
 	
 	@Override
 	public @Nullable Component getMessage(@NotNull String key, @Nullable Map<String, Object> context, @Nullable String onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable String message = this.getString(key, onEmpty);
 		if(message == null) return null;
-		return TRANSLATOR_ADAPTER.translate(message, joinMaps(this.defaultContext, context));
+		return rendered(key, start, this.translate(key, message, this.context(context)));
 	}
 	
 	@Override
@@ -149,18 +519,20 @@ public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration imp
 	
 	@Override
 	public @Nullable List<Component> getMessageListPremade(@NotNull String key, @Nullable Map<String, Object> context, @Nullable List<Component> onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable List<String> list = this.getStringList(key);
 		if(list == null) return onEmpty;
-		final @NotNull Map<String, Object> joinedContext = joinMaps(this.defaultContext, context);
-		return list.stream().map(s -> TRANSLATOR_ADAPTER.translate(s, joinedContext)).collect(Collectors.toList());
+		final @NotNull Map<String, Object> joinedContext = this.context(context);
+		return rendered(key, start, list.stream().map(s -> this.translate(key, s, joinedContext)).collect(Collectors.toList()));
 	}
 	
 	@Override
 	public @Nullable List<Component> getMessageList(@NotNull String key, @Nullable Map<String, Object> context, @Nullable List<String> onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable List<String> list = this.getStringList(key, onEmpty);
 		if(list == null) return null;
-		final @NotNull Map<String, Object> joinedContext = joinMaps(this.defaultContext, context);
-		return list.stream().map(s -> TRANSLATOR_ADAPTER.translate(s, joinedContext)).collect(Collectors.toList());
+		final @NotNull Map<String, Object> joinedContext = this.context(context);
+		return rendered(key, start, list.stream().map(s -> this.translate(key, s, joinedContext)).collect(Collectors.toList()));
 	}
 	
 	@Override
@@ -175,18 +547,116 @@ public class BukkitEnhancedConfiguration extends BlueflowCobaltConfiguration imp
 	
 	@Override
 	public @Nullable Map<String, Component> getMessageMapPremade(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Map<String, Component> onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable Map<String, String> map = this.getStringMap(key);
 		if(map == null) return onEmpty;
-		final @NotNull Map<String, Object> joinedContext = joinMaps(this.defaultContext, context);
-		return map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> TRANSLATOR_ADAPTER.translate(e.getValue(), joinedContext)));
+		final @NotNull Map<String, Object> joinedContext = this.context(context);
+		return rendered(key, start, map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> this.translate(key, e.getValue(), joinedContext))));
 	}
 	
 	@Override
 	public @Nullable Map<String, Component> getMessageMap(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Map<String, String> onEmpty) {
+		final long start = getMetrics().start();
 		final @Nullable Map<String, String> map = this.getStringMap(key, onEmpty);
 		if(map == null) return null;
-		final @NotNull Map<String, Object> joinedContext = joinMaps(this.defaultContext, context);
-		return map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> TRANSLATOR_ADAPTER.translate(e.getValue(), joinedContext)));
+		final @NotNull Map<String, Object> joinedContext = this.context(context);
+		return rendered(key, start, map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> this.translate(key, e.getValue(), joinedContext))));
+	}
+	
+	/**
+	 * @see #getMessageJson(String, Map)
+	 */
+	public @Nullable String getMessageJson(@NotNull String key) {
+		return this.getMessageJson(key, null);
+	}
+	
+	/**
+	 * Retrieves a message serialized into chat JSON, for sending the same message to many recipients.<br>
+	 * Messages without placeholders are serialized only once.
+	 */
+	public @Nullable String getMessageJson(@NotNull String key, @Nullable Map<String, Object> context) {
+		final long start = getMetrics().start();
+		final @Nullable String message = this.getString(key);
+		if(message == null) return null;
+		final @Nullable StaticMessage cached = this.staticMessage(message);
+		if(cached != null) return rendered(key, start, cached.json());
+		return rendered(key, start, GsonComponentSerializer.gson().serialize(this.translate(key, message, this.context(context))));
+	}
+	
+	/**
+	 * The default context as a mutable map, every modification publishes a new snapshot.<br>
+	 * Putting a null value removes the placeholder, the same way it was never substituted when the default context was a plain map.
+	 */
+	private final class DefaultContextView extends AbstractMap<String, Object> {
+		
+		@Override
+		public @Nullable Object get(@Nullable Object key) {
+			return BukkitEnhancedConfiguration.this.defaultContext.get(key);
+		}
+		
+		@Override
+		public boolean containsKey(@Nullable Object key) {
+			return BukkitEnhancedConfiguration.this.defaultContext.containsKey(key);
+		}
+		
+		@Override
+		public @Nullable Object put(@NotNull String key, @Nullable Object value) {
+			return BukkitEnhancedConfiguration.this.putDefaultContext(key, value);
+		}
+		
+		@Override
+		public @Nullable Object remove(@Nullable Object key) {
+			return key instanceof String name ? BukkitEnhancedConfiguration.this.removeDefaultContext(name) : null;
+		}
+		
+		@Override
+		public void clear() {
+			BukkitEnhancedConfiguration.this.setDefaultContext(Map.of());
+		}
+		
+		@Override
+		public @NotNull Set<Entry<String, Object>> entrySet() {
+			return BukkitEnhancedConfiguration.this.defaultContext.entrySet();
+		}
+		
+	}
+	
+	/**
+	 * A default context layered over a global context, together with the snapshots it was created from.
+	 */
+	private static final class InheritedContext {
+		
+		private final @NotNull Map<String, Object> defaults;
+		private final @NotNull Map<String, Object> global;
+		private final @NotNull Map<String, Object> context;
+		
+		private InheritedContext(@NotNull Map<String, Object> defaults, @NotNull Map<String, Object> global) {
+			this.defaults = defaults;
+			this.global   = global;
+			this.context  = LayeredContext.of(defaults, global);
+		}
+		
+	}
+	
+	/**
+	 * A message without placeholders, translated once and serialized at most once.
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class StaticMessage {
+		
+		private final @NotNull Component component;
+		
+		private volatile @Nullable String json = null;
+		
+		private @NotNull String json() {
+			@Nullable String json = this.json;
+			if(json == null) {
+				json      = GsonComponentSerializer.gson().serialize(this.component);
+				this.json = json;
+			}
+			return json;
+		}
+		
 	}
 	
 }
@@ -0,0 +1,82 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.config.enhanced;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only view of placeholders layered over other placeholders, a lookup tries the layer first and its parent then.<br>
+ * Nothing is copied, so creating a view costs a single small object, or nothing at all if one of the maps is empty.
+ * The view reflects its maps, which are meant to be immutable snapshots.
+ * Only iterating the view merges the maps, the translators merely look placeholders up.
+ */
+final class LayeredContext extends AbstractMap<String, Object> {
+	
+	private final @NotNull Map<String, Object> layer;
+	private final @NotNull Map<String, Object> parent;
+	
+	private @Nullable Set<Entry<String, Object>> entries = null;
+	
+	private LayeredContext(@NotNull Map<String, Object> layer, @NotNull Map<String, Object> parent) {
+		this.layer  = layer;
+		this.parent = parent;
+	}
+	
+	/**
+	 * Returns the layer over the parent, either map itself if the other one is missing or empty.
+	 */
+	static @NotNull Map<String, Object> of(@Nullable Map<String, Object> layer, @NotNull Map<String, Object> parent) {
+		if(layer == null || layer.isEmpty()) return parent;
+		if(parent.isEmpty()) return layer;
+		return new LayeredContext(layer, parent);
+	}
+	
+	@Override
+	public @Nullable Object get(@Nullable Object key) {
+		final @Nullable Object value = this.layer.get(key);
+		return value != null ? value : this.parent.get(key);
+	}
+	
+	@Override
+	public boolean containsKey(@Nullable Object key) {
+		return this.layer.containsKey(key) || this.parent.containsKey(key);
+	}
+	
+	@Override
+	public @NotNull Set<Entry<String, Object>> entrySet() {
+		if(this.entries == null) {
+			final @NotNull Map<String, Object> merged = new HashMap<>(this.parent);
+			this.layer.forEach((key, value) -> {
+				if(value != null) merged.put(key, value);
+			});
+			this.entries = Map.copyOf(merged).entrySet();
+		}
+		return this.entries;
+	}
+	
+}
@@ -45,6 +45,7 @@ public interface MessageAccessors<T> {
 	 * Retrieves a string and parses it according to the {@link pl.blueflow.cobalt.message.MessageTranslator} specification
 	 * into the implementation's {@link T} component.<br>
 	 * The implementation may ignore onEmpty parameter's placeholders.
+	 * Context values which are {@link java.util.function.Supplier}s are computed only if the message references them, at most once per message.
 	 */
 	@Contract("_, _, !null -> !null; _, _, null -> _")
 	@Nullable T getMessage(@NotNull String key, @Nullable Map<String, Object> context, @Nullable T onEmpty);
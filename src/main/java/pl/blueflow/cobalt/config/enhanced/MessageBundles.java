@@ -0,0 +1,353 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.config.enhanced;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import net.kyori.adventure.text.Component;
+import org.apache.commons.io.FileUtils;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pl.blueflow.cobalt.helper.Helper;
+import pl.blueflow.cobalt.message.MessageDiagnostic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Messages of every locale, each locale in its own bundle, e.g. <code>messages_pl_PL.yml</code>, <code>messages_pl.yml</code> and <code>messages.yml</code>.<br>
+ * A locale is resolved to a chain of bundles from the most to the least specific one, followed by the fallback locale's bundles and the base bundle,
+ * a key missing from a bundle is looked up in the next one. Only bundles present in the directory or among the resources are part of a chain.
+ * Bundles are loaded up front by {@link #preload(Collection)} or on first use, each one with its own caches of translated and compiled messages,
+ * their messages are compiled by the precompiler rather than on the thread loading them.
+ * Bundles are unloaded by {@link #evictIdle()} once unused for the idle timeout, so memory scales with the locales in use rather than the ones shipped.
+ */
+public final class MessageBundles {
+	
+	private final @NotNull File               directory;
+	private final @NotNull Class<?>           resources;
+	private final @NotNull String             baseName;
+	private final @NotNull Locale             fallback;
+	private final          long               idleTimeout;
+	private final @NotNull Collection<String> messagePaths;
+	private final @NotNull Executor           precompiler;
+	
+	private final @Nullable BiConsumer<String, Map<String, List<MessageDiagnostic>>> reporter;
+	
+	/**
+	 * Names of the existing bundles of every locale resolved so far, from the most specific one to the base bundle.
+	 */
+	private final @NotNull Map<Locale, List<String>> chains = new ConcurrentHashMap<>();
+	
+	/**
+	 * Currently loaded bundles keyed by their name.
+	 */
+	private final @NotNull Map<String, Bundle> loaded = new ConcurrentHashMap<>();
+	
+	/**
+	 * Default context of every bundle, an immutable snapshot, see {@link BukkitEnhancedConfiguration#setDefaultContext(Map)}.
+	 */
+	@Getter
+	private volatile @NotNull Map<String, Object> defaultContext = Map.of();
+	
+	/**
+	 * @param directory    directory of the bundle files, bundles found only among the resources are saved there first
+	 * @param resources    class whose class loader provides the default bundles
+	 * @param baseName     name of the base bundle without the extension, locale bundles are suffixed with the locale, e.g. <code>messages_pl</code>
+	 * @param fallback     locale to look up keys missing from the player's locale in
+	 * @param idleTimeout  time a bundle may stay unused before it's unloaded
+	 * @param messagePaths paths of messages to compile and validate when a bundle is loaded, see {@link BukkitEnhancedConfiguration#precompileMessages(Collection)}
+	 * @param precompiler  executor compiling and validating the messages of a loaded bundle, e.g. an asynchronous scheduler
+	 * @param reporter     consumer of the problems of a loaded bundle's malformed messages with the bundle's file name, null to ignore them
+	 * @throws IllegalArgumentException if the base bundle exists neither in the directory nor among the resources
+	 */
+	public MessageBundles(
+		@NotNull File directory,
+		@NotNull Class<?> resources,
+		@NotNull String baseName,
+		@NotNull Locale fallback,
+		@NotNull Duration idleTimeout,
+		@NotNull Collection<String> messagePaths,
+		@NotNull Executor precompiler,
+		@Nullable BiConsumer<String, Map<String, List<MessageDiagnostic>>> reporter
+	) {
+		this.directory    = directory;
+		this.resources    = resources;
+		this.baseName     = baseName;
+		this.fallback     = fallback;
+		this.idleTimeout  = idleTimeout.toNanos();
+		this.messagePaths = List.copyOf(messagePaths);
+		this.precompiler  = precompiler;
+		this.reporter     = reporter;
+		if(!this.exists(baseName)) throw new IllegalArgumentException("base bundle doesn't exist: " + baseName);
+	}
+	
+	/**
+	 * @see #forLocale(Locale)
+	 */
+	public @NotNull MessageAccessors<Component> forPlayer(@NotNull Player player) {
+		return this.forLocale(player.locale());
+	}
+	
+	/**
+	 * Returns the messages of the locale, loading its bundles if they aren't loaded yet.<br>
+	 * The result references the bundles, it's meant to be used right away rather than kept, so that idle bundles can be unloaded.
+	 */
+	public @NotNull MessageAccessors<Component> forLocale(@NotNull Locale locale) {
+		final @NotNull List<String>                      names   = this.chains.computeIfAbsent(locale, this::resolve);
+		final @NotNull List<BukkitEnhancedConfiguration> bundles = new ArrayList<>(names.size());
+		final long                                       now     = System.nanoTime();
+		for(final @NotNull String name : names) {
+			final @NotNull Bundle bundle = this.bundle(name);
+			bundle.lastUsed = now;
+			bundles.add(bundle.configuration);
+		}
+		return new LocalizedMessages(bundles);
+	}
+	
+	/**
+	 * Loads the bundles of the locales up front, e.g. while enabling, so that their first lookup doesn't read any files on the calling thread.
+	 */
+	public void preload(@NotNull Collection<Locale> locales) {
+		final long now = System.nanoTime();
+		for(final @NotNull Locale locale : locales) {
+			for(final @NotNull String name : this.chains.computeIfAbsent(locale, this::resolve)) {
+				this.bundle(name).lastUsed = now;
+			}
+		}
+	}
+	
+	/**
+	 * Replaces the default context of every bundle, loaded or not, with a snapshot of the values, null values are left out.
+	 */
+	public synchronized void setDefaultContext(@NotNull Map<String, Object> context) {
+		this.defaultContext = BukkitEnhancedConfiguration.snapshot(context);
+		for(final @NotNull Bundle bundle : this.loaded.values()) {
+			bundle.configuration.setDefaultContext(this.defaultContext);
+		}
+	}
+	
+	/**
+	 * Unloads every bundle unused for longer than the idle timeout, meant to be called periodically.
+	 */
+	public void evictIdle() {
+		final long now = System.nanoTime();
+		this.loaded.values().removeIf(bundle -> now - bundle.lastUsed > this.idleTimeout);
+	}
+	
+	/**
+	 * Unloads all bundles, they're loaded again from their files on next use.
+	 */
+	public void reload() {
+		this.chains.clear();
+		this.loaded.clear();
+	}
+	
+	/**
+	 * Returns the number of currently loaded bundles.
+	 */
+	public int getLoadedCount() {
+		return this.loaded.size();
+	}
+	
+	/**
+	 * Returns the names of the locale's existing bundles, from the most specific one to the base bundle.
+	 */
+	@NotNull List<String> resolve(@NotNull Locale locale) {
+		final @NotNull Set<String> names = new LinkedHashSet<>();
+		this.addCandidates(locale, names);
+		this.addCandidates(this.fallback, names);
+		names.add(this.baseName);
+		names.removeIf(name -> !this.exists(name));
+		return List.copyOf(names);
+	}
+	
+	private void addCandidates(@NotNull Locale locale, @NotNull Set<String> names) {
+		if(locale.getLanguage().isEmpty()) return;
+		if(!locale.getCountry().isEmpty()) names.add(this.baseName + "_" + locale.getLanguage() + "_" + locale.getCountry());
+		names.add(this.baseName + "_" + locale.getLanguage());
+	}
+	
+	private boolean exists(@NotNull String name) {
+		if(this.file(name).isFile()) return true;
+		return this.resources.getClassLoader().getResource(name + ".yml") != null;
+	}
+	
+	private @NotNull File file(@NotNull String name) {
+		return new File(this.directory, name + ".yml");
+	}
+	
+	/**
+	 * Returns the loaded bundle, a bundle is loaded outside the map's locks so that lookups of loaded bundles never wait for a file.
+	 */
+	private @NotNull Bundle bundle(@NotNull String name) {
+		final @Nullable Bundle bundle = this.loaded.get(name);
+		return bundle != null ? bundle : this.load(name);
+	}
+	
+	/**
+	 * Loads a bundle unless another thread has loaded it meanwhile, loads are serialized so that a file is never created or read twice.<br>
+	 * Only the message paths are registered here, the messages are compiled and validated by the precompiler.
+	 */
+	@SneakyThrows
+	private synchronized @NotNull Bundle load(@NotNull String name) {
+		final @Nullable Bundle loaded = this.loaded.get(name);
+		if(loaded != null) return loaded;
+		
+		final @NotNull File file = this.file(name);
+		if(!file.isFile()) {
+			FileUtils.touch(file);
+			Helper.saveDefault(Helper.getResource(this.resources, name + ".yml"), file, false);
+		}
+		
+		final @Nullable InputStream                 defaults      = Helper.getResource(this.resources, name + ".yml");
+		final @NotNull  BukkitEnhancedConfiguration configuration = new BukkitEnhancedConfiguration(file, defaults, new FileInputStream(file));
+		configuration.setDefaultContext(this.defaultContext);
+		if(!this.messagePaths.isEmpty()) {
+			final @NotNull Map<String, String> messages = configuration.collectMessages(this.messagePaths);
+			this.precompiler.execute(() -> {
+				final @NotNull Map<String, List<MessageDiagnostic>> report = configuration.precompileMessages(messages);
+				if(this.reporter != null && !report.isEmpty()) this.reporter.accept(file.getName(), report);
+			});
+		}
+		
+		final @NotNull Bundle bundle = new Bundle(configuration);
+		this.loaded.put(name, bundle);
+		return bundle;
+	}
+	
+	/**
+	 * A loaded bundle and the time it was last used at.
+	 */
+	private static final class Bundle {
+		
+		private final @NotNull BukkitEnhancedConfiguration configuration;
+		
+		private volatile long lastUsed = System.nanoTime();
+		
+		private Bundle(@NotNull BukkitEnhancedConfiguration configuration) {
+			this.configuration = configuration;
+		}
+		
+	}
+	
+	/**
+	 * Messages of a chain of bundles, every lookup tries the bundles in order until one of them has the key.<br>
+	 * The onEmpty values are used only if no bundle has the key.
+	 */
+	private static final class LocalizedMessages implements MessageAccessors<Component> {
+		
+		private final @NotNull List<BukkitEnhancedConfiguration> bundles;
+		
+		private LocalizedMessages(@NotNull List<BukkitEnhancedConfiguration> bundles) {
+			this.bundles = bundles;
+		}
+		
+		private @NotNull BukkitEnhancedConfiguration last() {
+			return this.bundles.get(this.bundles.size() - 1);
+		}
+		
+		@Override
+		public @Nullable Component getMessage(@NotNull String key) {
+			return this.getMessage(key, null);
+		}
+		
+		@Override
+		public @Nullable Component getMessage(@NotNull String key, @Nullable Map<String, Object> context) {
+			return this.getMessage(key, context, (Component) null);
+		}
+		
+		@Override
+		public @Nullable Component getMessage(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Component onEmpty) {
+			for(final @NotNull BukkitEnhancedConfiguration bundle : this.bundles) {
+				final @Nullable Component message = bundle.getMessage(key, context, (Component) null);
+				if(message != null) return message;
+			}
+			return onEmpty;
+		}
+		
+		@Override
+		public @Nullable Component getMessage(@NotNull String key, @Nullable Map<String, Object> context, @Nullable String onEmpty) {
+			final @Nullable Component message = this.getMessage(key, context, (Component) null);
+			return message != null ? message : this.last().getMessage(key, context, onEmpty);
+		}
+		
+		@Override
+		public @Nullable List<Component> getMessageList(@NotNull String key) {
+			return this.getMessageList(key, null);
+		}
+		
+		@Override
+		public @Nullable List<Component> getMessageList(@NotNull String key, @Nullable Map<String, Object> context) {
+			return this.getMessageListPremade(key, context, null);
+		}
+		
+		@Override
+		public @Nullable List<Component> getMessageListPremade(@NotNull String key, @Nullable Map<String, Object> context, @Nullable List<Component> onEmpty) {
+			for(final @NotNull BukkitEnhancedConfiguration bundle : this.bundles) {
+				final @Nullable List<Component> list = bundle.getMessageListPremade(key, context, null);
+				if(list != null) return list;
+			}
+			return onEmpty;
+		}
+		
+		@Override
+		public @Nullable List<Component> getMessageList(@NotNull String key, @Nullable Map<String, Object> context, @Nullable List<String> onEmpty) {
+			final @Nullable List<Component> list = this.getMessageListPremade(key, context, null);
+			return list != null ? list : this.last().getMessageList(key, context, onEmpty);
+		}
+		
+		@Override
+		public @Nullable Map<String, Component> getMessageMap(@NotNull String key) {
+			return this.getMessageMap(key, null);
+		}
+		
+		@Override
+		public @Nullable Map<String, Component> getMessageMap(@NotNull String key, @Nullable Map<String, Object> context) {
+			return this.getMessageMapPremade(key, context, null);
+		}
+		
+		@Override
+		public @Nullable Map<String, Component> getMessageMapPremade(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Map<String, Component> onEmpty) {
+			for(final @NotNull BukkitEnhancedConfiguration bundle : this.bundles) {
+				final @Nullable Map<String, Component> map = bundle.getMessageMapPremade(key, context, null);
+				if(map != null) return map;
+			}
+			return onEmpty;
+		}
+		
+		@Override
+		public @Nullable Map<String, Component> getMessageMap(@NotNull String key, @Nullable Map<String, Object> context, @Nullable Map<String, String> onEmpty) {
+			final @Nullable Map<String, Component> map = this.getMessageMapPremade(key, context, null);
+			return map != null ? map : this.last().getMessageMap(key, context, onEmpty);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,196 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges adjacent runs of text with an equal style, click and hover before they reach another sink.<br>
+ * Pushes are passed on only once there's text inside them, so pushes without any text are dropped.
+ * Pops are held back until the next text, a push equal to the last popped one reopens it instead,
+ * e.g. <code>@{red}a@{red}b</code> results in a single red text.
+ */
+final class CoalescingSink<R> implements MessageSink<R> {
+	
+	private static final int STYLE = 0;
+	private static final int CLICK = 1;
+	private static final int HOVER = 2;
+	
+	private final @NotNull MessageSink<R> delegate;
+	
+	/**
+	 * Incremented by every push that was dropped or merged with the previous one.
+	 */
+	private final @NotNull LongAdder removed;
+	
+	/**
+	 * All currently open pushes, the ones below {@link #passed} were passed on.
+	 */
+	private final @NotNull ArrayList<Frame> frames = new ArrayList<>();
+	private                int              passed = 0;
+	
+	/**
+	 * Pushes passed on and already popped, but not yet popped from the delegate, the last one is the outermost.
+	 */
+	private final @NotNull ArrayList<Frame> popped = new ArrayList<>();
+	
+	/**
+	 * Text not yet passed on, all of it inside the passed pushes.
+	 */
+	private @Nullable String        text    = null;
+	private @Nullable StringBuilder builder = null;
+	
+	CoalescingSink(@NotNull MessageSink<R> delegate, @NotNull LongAdder removed) {
+		this.delegate = delegate;
+		this.removed  = removed;
+	}
+	
+	@Override
+	public void text(@NotNull String text) {
+		if(!this.popped.isEmpty() || this.passed < this.frames.size()) {
+			this.flushText();
+			for(int i = 0; i < this.popped.size(); i++) {
+				this.delegate.pop();
+			}
+			this.popped.clear();
+			for(; this.passed < this.frames.size(); this.passed++) {
+				this.frames.get(this.passed).pushTo(this.delegate);
+			}
+		}
+		
+		if(this.text == null) {
+			this.text = text;
+		} else {
+			if(this.builder == null) this.builder = new StringBuilder();
+			if(this.builder.length() == 0) this.builder.append(this.text);
+			this.builder.append(text);
+		}
+	}
+	
+	private void push(@NotNull Frame frame) {
+		if(this.passed == this.frames.size() && !this.popped.isEmpty() && this.popped.get(this.popped.size() - 1).equals(frame)) {
+			this.popped.remove(this.popped.size() - 1);
+			this.passed++;
+			this.removed.increment();
+		}
+		this.frames.add(frame);
+	}
+	
+	@Override
+	public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+		this.push(new Frame(STYLE, color, decorations, Message.Decoration.mask(decorations)));
+	}
+	
+	@Override
+	public void pushClick(@NotNull Message.Click<?> click) {
+		this.push(new Frame(CLICK, click, null, 0));
+	}
+	
+	@Override
+	public void pushHover(@NotNull R content) {
+		this.push(new Frame(HOVER, content, null, 0));
+	}
+	
+	@Override
+	public void pop() {
+		final @NotNull Frame frame = this.frames.remove(this.frames.size() - 1);
+		if(this.passed > this.frames.size()) {
+			this.passed--;
+			this.popped.add(frame);
+		} else {
+			this.removed.increment();
+		}
+	}
+	
+	private void flushText() {
+		if(this.text == null) return;
+		if(this.builder != null && this.builder.length() > 0) {
+			this.delegate.text(this.builder.toString());
+			this.builder.setLength(0);
+		} else {
+			this.delegate.text(this.text);
+		}
+		this.text = null;
+	}
+	
+	@Override
+	public @NotNull MessageSink<R> fork() {
+		return new CoalescingSink<>(this.delegate.fork(), this.removed);
+	}
+	
+	@Override
+	public @NotNull R result() {
+		this.flushText();
+		for(int i = 0; i < this.popped.size(); i++) {
+			this.delegate.pop();
+		}
+		this.popped.clear();
+		return this.delegate.result();
+	}
+	
+	/**
+	 * A single push, equal to another push with an equal value and the same decorations in any order.
+	 */
+	private static final class Frame {
+		
+		private final           int    kind;
+		private final @Nullable Object value;
+		private final @Nullable Object decorations;
+		private final           int    decorationMask;
+		
+		private Frame(int kind, @Nullable Object value, @Nullable Object decorations, int decorationMask) {
+			this.kind           = kind;
+			this.value          = value;
+			this.decorations    = decorations;
+			this.decorationMask = decorationMask;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private <R> void pushTo(@NotNull MessageSink<R> sink) {
+			switch(this.kind) {
+				case STYLE -> sink.pushStyle((Message.Color) this.value, (List<Message.Decoration>) Objects.requireNonNull(this.decorations));
+				case CLICK -> sink.pushClick((Message.Click<?>) Objects.requireNonNull(this.value));
+				default -> sink.pushHover((R) Objects.requireNonNull(this.value));
+			}
+		}
+		
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if(this == obj) return true;
+			if(!(obj instanceof Frame frame)) return false;
+			return this.kind == frame.kind && this.decorationMask == frame.decorationMask && Objects.equals(this.value, frame.value);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.kind, this.value, this.decorationMask);
+		}
+		
+	}
+	
+}
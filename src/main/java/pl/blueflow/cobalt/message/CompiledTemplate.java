@@ -0,0 +1,485 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A message parsed once with its placeholders bound as slots, see {@link MessageTranslator#compile(String)}.<br>
+ * Templates are immutable and may be shared between threads, rendering only fills the slots.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class CompiledTemplate {
+	
+	@Getter
+	@ToString.Include
+	private final @NotNull String source;
+	
+	private final @NotNull List<Segment> segments;
+	
+	/**
+	 * Names of all placeholders the template references, including the ones inside hovers.
+	 */
+	@Getter
+	private final @NotNull Set<String> placeholders;
+	
+	/**
+	 * The only possible result of a template without placeholders, otherwise null.
+	 */
+	private final @Nullable List<Message> rendered;
+	
+	/**
+	 * The hover event showing the template if it's a static hover's content, shared by every message the hover is used in.
+	 */
+	private final @Nullable Message.Hover<List<Message>> hoverEvent;
+	
+	/**
+	 * The static template's messages converted by a platform adapter, see {@link #render(Map, Class, Function)}.
+	 */
+	private volatile @Nullable Object converted = null;
+	
+	private CompiledTemplate(@NotNull String source, @NotNull List<Segment> segments, boolean hover, @NotNull Interner interner) {
+		this.source   = source;
+		this.segments = segments;
+		
+		final @NotNull Set<String> placeholders = new LinkedHashSet<>();
+		for(final @NotNull Segment segment : segments) {
+			segment.collectPlaceholders(placeholders);
+		}
+		this.placeholders = placeholders.isEmpty() ? Set.of() : Collections.unmodifiableSet(placeholders);
+		this.rendered     = placeholders.isEmpty() ? interner.intern(this.renderSegments(new LazyContext(Collections.emptyMap()))) : null;
+		this.hoverEvent   = hover && this.rendered != null ? Message.Hover.showText(this.rendered) : null;
+	}
+	
+	/**
+	 * Returns true if the template doesn't reference any placeholders, thus it always renders the same messages.
+	 */
+	public boolean isStatic() {
+		return this.rendered != null;
+	}
+	
+	public @NotNull List<Message> render() {
+		return this.render(Collections.emptyMap());
+	}
+	
+	/**
+	 * Renders the template, filling its slots with the context's values.<br>
+	 * Values which are {@link java.util.function.Supplier}s are computed only if the template references them, at most once per render.
+	 *
+	 * @param context placeholders
+	 * @throws MessageFormattingException if the context is missing a placeholder that has no default value
+	 */
+	public @NotNull List<Message> render(@NotNull Map<String, Object> context) {
+		return this.render(new LazyContext(context));
+	}
+	
+	/**
+	 * Renders the template, filling its slots with the context's values read by the slots' key indices.
+	 *
+	 * @param context placeholders
+	 * @throws MessageFormattingException if the context is missing a placeholder that has no default value
+	 */
+	public @NotNull List<Message> render(@NotNull PlaceholderContext context) {
+		return this.render(new LazyContext(context, null));
+	}
+	
+	/**
+	 * Same as {@link #render(PlaceholderContext)}, but the placeholders the context doesn't set are looked up in the providers.
+	 */
+	@NotNull List<Message> render(@NotNull PlaceholderContext context, @NotNull PlaceholderProviders providers) {
+		return this.render(new LazyContext(context, providers));
+	}
+	
+	private @NotNull List<Message> render(@NotNull LazyContext context) {
+		final @NotNull MessageRenderEvent event = new MessageRenderEvent();
+		event.begin();
+		final @NotNull List<Message> messages = this.rendered != null ? this.rendered : this.renderSegments(context);
+		this.commit(event, this.rendered != null);
+		return messages;
+	}
+	
+	/**
+	 * Renders the template and converts the messages, a static template is converted only once and the result is remembered.
+	 */
+	<T> @NotNull T render(@NotNull Map<String, Object> context, @NotNull Class<T> type, @NotNull Function<? super List<Message>, ? extends T> converter) {
+		return this.render(new LazyContext(context), type, converter);
+	}
+	
+	/**
+	 * @see #render(Map, Class, Function)
+	 */
+	<T> @NotNull T render(@NotNull PlaceholderContext context, @NotNull Class<T> type, @NotNull Function<? super List<Message>, ? extends T> converter) {
+		return this.render(new LazyContext(context, null), type, converter);
+	}
+	
+	/**
+	 * Same as {@link #render(Map, Class, Function)}, but the placeholders the context doesn't set are looked up in the providers.
+	 */
+	<T> @NotNull T render(@NotNull Map<String, Object> context, @NotNull PlaceholderProviders providers, @NotNull Class<T> type, @NotNull Function<? super List<Message>, ? extends T> converter) {
+		return this.render(new LazyContext(providers.over(context)), type, converter);
+	}
+	
+	/**
+	 * Same as {@link #render(PlaceholderContext, Class, Function)}, but the placeholders the context doesn't set are looked up in the providers.
+	 */
+	<T> @NotNull T render(@NotNull PlaceholderContext context, @NotNull PlaceholderProviders providers, @NotNull Class<T> type, @NotNull Function<? super List<Message>, ? extends T> converter) {
+		return this.render(new LazyContext(context, providers), type, converter);
+	}
+	
+	private <T> @NotNull T render(@NotNull LazyContext context, @NotNull Class<T> type, @NotNull Function<? super List<Message>, ? extends T> converter) {
+		final @NotNull MessageRenderEvent event = new MessageRenderEvent();
+		event.begin();
+		if(this.rendered == null) {
+			final @NotNull T result = converter.apply(this.renderSegments(context));
+			this.commit(event, false);
+			return result;
+		}
+		final @Nullable Object converted = this.converted;
+		if(type.isInstance(converted)) {
+			this.commit(event, true);
+			return type.cast(converted);
+		}
+		final @NotNull T result = converter.apply(this.rendered);
+		this.converted = result;
+		this.commit(event, false);
+		return result;
+	}
+	
+	private void commit(@NotNull MessageRenderEvent event, boolean cached) {
+		if(!event.shouldCommit()) return;
+		event.sourceLength = this.source.length();
+		event.segments     = this.segments.size();
+		event.cached       = cached;
+		event.commit();
+	}
+	
+	private @NotNull Message.Hover<List<Message>> renderHover(@NotNull LazyContext context) {
+		if(this.hoverEvent != null) return this.hoverEvent;
+		return Message.Hover.showText(this.renderSegments(context));
+	}
+	
+	private @NotNull List<Message> renderSegments(@NotNull LazyContext context) {
+		if(this.segments.isEmpty()) return Message.empty();
+		final @NotNull List<Message> messages = new ArrayList<>(this.segments.size());
+		for(final @NotNull Segment segment : this.segments) {
+			messages.add(segment.render(this.source, context));
+		}
+		return Collections.unmodifiableList(messages);
+	}
+	
+	/**
+	 * A placeholder bound inside a template.
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	@ToString
+	public static final class Slot {
+		
+		private final @NotNull  String name;
+		private final @Nullable String defaultValue;
+		
+		/**
+		 * Position of the placeholder in the template's source.
+		 */
+		private final int position;
+		
+		/**
+		 * The key the placeholder is bound to, read from a {@link PlaceholderContext} by its index.
+		 */
+		@ToString.Exclude
+		private final @NotNull PlaceholderKey<?> key;
+		
+		/**
+		 * Creates a slot from the placeholder's inner declaration, e.g. <code>name</code> or <code>name:default</code>.
+		 */
+		static @NotNull Slot of(@NotNull String declaration, int position) {
+			final int delimiter = declaration.indexOf(MessageTranslator.PLACEHOLDER_VALUE_DELIMITER);
+			if(delimiter == -1) return new Slot(declaration, null, position, PlaceholderKey.of(declaration));
+			final @NotNull String name = declaration.substring(0, delimiter);
+			return new Slot(
+				name,
+				declaration.substring(delimiter + MessageTranslator.PLACEHOLDER_VALUE_DELIMITER.length()),
+				position,
+				PlaceholderKey.of(name)
+			);
+		}
+		
+		private void appendTo(@NotNull StringBuilder builder, @NotNull String source, @NotNull LazyContext context) {
+			if(context.appendTo(builder, this)) return;
+			if(this.defaultValue != null) {
+				builder.append(this.defaultValue);
+				return;
+			}
+			if(MessageTranslator.THROW_ON_UNDEFINED_PLACEHOLDER) {
+				throw new MessageFormattingException(source, this.position, String.format("undefined placeholder '%s'", this.name));
+			}
+			builder.append(MessageTranslator.PLACEHOLDER_PREFIX).append(this.name).append(MessageTranslator.PLACEHOLDER_SUFFIX);
+		}
+		
+	}
+	
+	/**
+	 * Text consisting of literal strings and slots.
+	 */
+	private static final class Text {
+		
+		private final @NotNull  Object[] parts;
+		private final @Nullable String   literal;
+		
+		private Text(@NotNull Object[] parts, @Nullable String literal) {
+			this.parts   = parts;
+			this.literal = literal;
+		}
+		
+		/**
+		 * Creates text from the parts, adjacent literal strings are joined and interned.
+		 */
+		private static @NotNull Text of(@NotNull List<Object> parts, @NotNull Interner interner) {
+			if(parts.isEmpty()) return new Text(new Object[0], "");
+			final @NotNull List<Object> joined = new ArrayList<>(parts.size());
+			for(final @NotNull Object part : parts) {
+				if(part instanceof String literal && !joined.isEmpty() && joined.get(joined.size() - 1) instanceof String previous) {
+					joined.set(joined.size() - 1, previous + literal);
+				} else {
+					joined.add(part);
+				}
+			}
+			for(int i = 0; i < joined.size(); i++) {
+				if(joined.get(i) instanceof String literal) joined.set(i, interner.intern(literal));
+			}
+			if(joined.size() == 1 && joined.get(0) instanceof String literal) return new Text(new Object[] {literal}, literal);
+			return new Text(joined.toArray(), null);
+		}
+		
+		private boolean isStatic() {
+			return this.literal != null;
+		}
+		
+		private void collectPlaceholders(@NotNull Set<String> placeholders) {
+			for(final @NotNull Object part : this.parts) {
+				if(part instanceof Slot slot) placeholders.add(slot.getName());
+			}
+		}
+		
+		private @NotNull String render(@NotNull String source, @NotNull LazyContext context) {
+			if(this.literal != null) return this.literal;
+			final @NotNull StringBuilder builder = new StringBuilder();
+			for(final @NotNull Object part : this.parts) {
+				if(part instanceof Slot slot) {
+					slot.appendTo(builder, source, context);
+				} else {
+					builder.append((String) part);
+				}
+			}
+			return builder.toString();
+		}
+		
+	}
+	
+	/**
+	 * A click value containing slots.
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class ClickTemplate {
+		
+		private final @NotNull Message.Click.Action action;
+		private final @NotNull Text                 value;
+		
+	}
+	
+	/**
+	 * A single message with its content, click value and hover possibly containing slots.
+	 */
+	private static final class Segment {
+		
+		private final @NotNull  Text             content;
+		private final @Nullable Message.Color    color;
+		private final           int              decorations;
+		private final @Nullable Message.Click<?> click;
+		private final @Nullable ClickTemplate    clickTemplate;
+		private final @Nullable CompiledTemplate hover;
+		
+		/**
+		 * The style of every render if the click and hover have no slots, otherwise null.
+		 */
+		private final @Nullable Message.Style style;
+		
+		/**
+		 * The only possible result of a segment without slots, otherwise null.
+		 */
+		private final @Nullable Message message;
+		
+		private Segment(
+			@NotNull Text content,
+			@Nullable Message.Color color,
+			@NotNull Collection<Message.Decoration> decorations,
+			@Nullable Object click,
+			@Nullable CompiledTemplate hover,
+			@NotNull Interner interner
+		) {
+			this.content       = content;
+			this.color         = color;
+			this.decorations   = Message.Decoration.mask(decorations);
+			this.click         = click instanceof Message.Click<?> staticClick ? interner.intern(staticClick) : null;
+			this.clickTemplate = click instanceof ClickTemplate template ? template : null;
+			this.hover         = hover;
+			this.style =
+				this.clickTemplate == null && (hover == null || hover.isStatic()) ?
+				interner.intern(Message.Style.of(color, this.decorations, this.click, hover != null ? hover.renderHover(new LazyContext(Collections.emptyMap())) : null)) :
+				null;
+			this.message = content.isStatic() && this.style != null ? interner.intern(build(content.literal, this.style)) : null;
+		}
+		
+		private void collectPlaceholders(@NotNull Set<String> placeholders) {
+			this.content.collectPlaceholders(placeholders);
+			if(this.clickTemplate != null) this.clickTemplate.value.collectPlaceholders(placeholders);
+			if(this.hover != null) placeholders.addAll(this.hover.getPlaceholders());
+		}
+		
+		/**
+		 * Segments without slots are equal if their messages are, segments with slots only to themselves.<br>
+		 * The hash differs from the message's one, so that a segment and its message don't evict each other when interned.
+		 */
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if(this == obj) return true;
+			return obj instanceof Segment segment && this.message != null && this.message.equals(segment.message);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.message != null ? ~this.message.hashCode() : System.identityHashCode(this);
+		}
+		
+		private static @NotNull Message build(@NotNull String content, @NotNull Message.Style style) {
+			return Message.builder().content(content).style(style).build();
+		}
+		
+		private @NotNull Message render(@NotNull String source, @NotNull LazyContext context) {
+			if(this.message != null) return this.message;
+			final @NotNull String content = this.content.render(source, context);
+			if(this.style != null) return build(content, this.style);
+			return build(content, Message.Style.of(
+				this.color,
+				this.decorations,
+				this.clickTemplate != null ? Message.Click.of(this.clickTemplate.action, this.clickTemplate.value.render(source, context)) : this.click,
+				this.hover != null ? this.hover.renderHover(context) : null
+			));
+		}
+		
+	}
+	
+	/**
+	 * Collects the lexer's tokens into a template.<br>
+	 * Hovers without placeholders are shared through the cache, every template using the same hover content references the same hover.
+	 * Literal text, static clicks, styles, messages and whole static templates' messages are interned,
+	 * so fragments repeated across many templates, e.g. a common prefix, are mostly kept once.
+	 */
+	static final class Builder extends SegmentHandler {
+		
+		private final @NotNull String                        source;
+		private final @NotNull Map<String, CompiledTemplate> hovers;
+		private final          int                           hoversLimit;
+		private final @NotNull Interner                      interner;
+		private final @NotNull TranslatorMetrics             metrics;
+		
+		private @NotNull  List<Segment> segments = new ArrayList<>();
+		private @Nullable List<Segment> body     = null;
+		
+		/**
+		 * @param hovers      the cache of static hovers keyed by their source, shared between builders
+		 * @param hoversLimit the size above which new hovers are no longer cached
+		 * @param coalesced   the counter of removed segments, null to disable coalescing
+		 * @param interner    the table of canonical fragments, shared between builders
+		 * @param metrics     the metrics to count the hover cache's hits and misses in
+		 */
+		Builder(
+			@NotNull String source,
+			@NotNull Map<String, CompiledTemplate> hovers,
+			int hoversLimit,
+			@Nullable LongAdder coalesced,
+			@NotNull Interner interner,
+			@NotNull TranslatorMetrics metrics
+		) {
+			super(coalesced);
+			this.source      = source;
+			this.hovers      = hovers;
+			this.hoversLimit = hoversLimit;
+			this.interner    = interner;
+			this.metrics     = metrics;
+		}
+		
+		@Override
+		protected void segment(@NotNull List<Object> parts, @Nullable Message.Color color, @NotNull List<Message.Decoration> decorations, @Nullable Object click, @Nullable Object hover) {
+			this.segments.add(this.interner.intern(new Segment(Text.of(parts, this.interner), color, decorations, click, (CompiledTemplate) hover, this.interner)));
+		}
+		
+		@Override
+		protected void openHover() {
+			this.body     = this.segments;
+			this.segments = new ArrayList<>();
+		}
+		
+		@Override
+		protected @NotNull Object closeHover(int start, int end) {
+			final @NotNull CompiledTemplate hover = new CompiledTemplate(this.source, this.interner.intern(List.copyOf(this.segments)), true, this.interner);
+			this.segments = this.body != null ? this.body : new ArrayList<>();
+			this.body     = null;
+			if(!hover.isStatic()) return hover;
+			
+			final @NotNull String content = this.source.substring(start, end);
+			final @Nullable CompiledTemplate cached = this.hovers.get(content);
+			if(cached != null) {
+				this.metrics.hit(TranslatorMetrics.Cache.HOVERS);
+				return cached;
+			}
+			this.metrics.miss(TranslatorMetrics.Cache.HOVERS);
+			if(this.hovers.size() >= this.hoversLimit) return hover;
+			final @Nullable CompiledTemplate previous = this.hovers.putIfAbsent(content, hover);
+			return previous != null ? previous : hover;
+		}
+		
+		@Override
+		public void click(@NotNull Message.Click.Action action, @NotNull List<Object> value) {
+			this.pushClick(new ClickTemplate(action, Text.of(value, this.interner)));
+		}
+		
+		/**
+		 * Returns the template, must be called after the lexer is done.
+		 */
+		@NotNull CompiledTemplate build() {
+			this.finish();
+			return new CompiledTemplate(this.source, this.interner.intern(List.copyOf(this.segments)), false, this.interner);
+		}
+		
+	}
+	
+}
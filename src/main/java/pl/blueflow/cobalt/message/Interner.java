@@ -0,0 +1,59 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A bounded table of canonical instances of immutable values, equal values interned one after another are replaced by the first one.<br>
+ * The table is direct-mapped and read and written without synchronization the same way {@link Message.Color}'s cache is,
+ * a value colliding with another one evicts it, thus interning is best effort and equal values aren't guaranteed to be identical.
+ * Only values with final fields may be interned, so that they're safely published through the table.
+ */
+final class Interner {
+	
+	private final @Nullable Object[] table;
+	private final           int      shift;
+	
+	/**
+	 * @param size number of slots, must be a power of two
+	 */
+	Interner(int size) {
+		if(Integer.bitCount(size) != 1) throw new IllegalArgumentException("size must be a power of two: " + size);
+		this.table = new Object[size];
+		this.shift = 32 - Integer.numberOfTrailingZeros(size);
+	}
+	
+	/**
+	 * Returns the canonical instance equal to the value, or the value itself which becomes the canonical one.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> @NotNull T intern(@NotNull T value) {
+		final int slot = (value.hashCode() * 0x9e3779b9) >>> this.shift;
+		final @Nullable Object cached = this.table[slot];
+		if(cached != null && cached.getClass() == value.getClass() && cached.equals(value)) return (T) cached;
+		this.table[slot] = value;
+		return value;
+	}
+	
+}
@@ -0,0 +1,120 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * An immutable, ASCII case-insensitive table of keywords, looked up straight from a range of characters without allocating.<br>
+ * The table is a perfect hash, it's sized and seeded so that every keyword has a slot of its own,
+ * thus a lookup hashes the range once and compares it with at most one keyword.
+ */
+final class KeywordTable<T> {
+	
+	private static final int MAX_SEED_ATTEMPTS = 1024;
+	
+	private final @Nullable char[][] keys;
+	private final @NotNull  Object[] values;
+	
+	private final int seed;
+	private final int shift;
+	
+	private KeywordTable(@Nullable char[][] keys, @NotNull Object[] values, int seed, int shift) {
+		this.keys   = keys;
+		this.values = values;
+		this.seed   = seed;
+		this.shift  = shift;
+	}
+	
+	/**
+	 * @param keywords values by their keywords, keywords must be ASCII and mustn't repeat ignoring case
+	 * @throws IllegalArgumentException if a keyword isn't ASCII or no perfect hash was found
+	 */
+	static <T> @NotNull KeywordTable<T> of(@NotNull Map<String, T> keywords) {
+		for(int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(keywords.size() * 2)); bits < 16; bits++) {
+			for(int attempt = 0; attempt < MAX_SEED_ATTEMPTS; attempt++) {
+				final int seed = 0x9e3779b9 + attempt * 2;
+				final @Nullable char[][] keys = new char[1 << bits][];
+				final @NotNull Object[] values = new Object[1 << bits];
+				if(fill(keywords, keys, values, seed, 32 - bits)) return new KeywordTable<>(keys, values, seed, 32 - bits);
+			}
+		}
+		throw new IllegalArgumentException("keywords cannot be hashed perfectly: " + keywords.keySet());
+	}
+	
+	private static <T> boolean fill(@NotNull Map<String, T> keywords, @Nullable char[][] keys, @NotNull Object[] values, int seed, int shift) {
+		for(final @NotNull Map.Entry<String, T> entry : keywords.entrySet()) {
+			final @NotNull char[] key = new char[entry.getKey().length()];
+			for(int i = 0; i < key.length; i++) {
+				final char c = entry.getKey().charAt(i);
+				if(c > 0x7f) throw new IllegalArgumentException("keyword isn't ASCII: " + entry.getKey());
+				key[i] = lower(c);
+			}
+			final int slot = (hash(key, 0, key.length) * seed) >>> shift;
+			if(keys[slot] != null) return false;
+			keys[slot]   = key;
+			values[slot] = entry.getValue();
+		}
+		return true;
+	}
+	
+	private static char lower(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+	
+	private static int hash(@NotNull char[] key, int from, int to) {
+		int hash = to - from;
+		for(int i = from; i < to; i++) {
+			hash = hash * 31 + key[i];
+		}
+		return hash;
+	}
+	
+	private static int hash(@NotNull CharSequence source, int from, int to) {
+		int hash = to - from;
+		for(int i = from; i < to; i++) {
+			hash = hash * 31 + lower(source.charAt(i));
+		}
+		return hash;
+	}
+	
+	/**
+	 * Returns the value of the keyword equal to the range ignoring case, or null if there's no such keyword.
+	 *
+	 * @param from start of the range, inclusive
+	 * @param to   end of the range, exclusive
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable T get(@NotNull CharSequence source, int from, int to) {
+		final int slot = (hash(source, from, to) * this.seed) >>> this.shift;
+		final @Nullable char[] key = this.keys[slot];
+		if(key == null || key.length != to - from) return null;
+		for(int i = 0; i < key.length; i++) {
+			if(lower(source.charAt(from + i)) != key[i]) return null;
+		}
+		return (T) this.values[slot];
+	}
+	
+}
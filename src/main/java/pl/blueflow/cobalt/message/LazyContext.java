@@ -0,0 +1,108 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A context of a single substitution or render, resolving lazy placeholder values.<br>
+ * A value which is a {@link Supplier} is computed only once its placeholder is referenced, and at most once,
+ * every further reference gets the same value. Not thread-safe, a new instance is used for every render.
+ * Values come either from a map, looked up by name, or from a {@link PlaceholderContext}, looked up by the slots' keys.
+ */
+final class LazyContext {
+	
+	private final @Nullable Map<String, Object>  context;
+	private final @Nullable PlaceholderContext   placeholders;
+	private final @Nullable PlaceholderProviders providers;
+	
+	/**
+	 * Values computed so far keyed by their placeholder, created once the first one is computed.
+	 */
+	private @Nullable Map<String, Object> computed = null;
+	
+	LazyContext(@NotNull Map<String, Object> context) {
+		this.context      = context;
+		this.placeholders = null;
+		this.providers    = null;
+	}
+	
+	/**
+	 * The placeholder context computes and remembers lazy values itself.
+	 *
+	 * @param providers providers of the placeholders the context doesn't set, null if there are none
+	 */
+	LazyContext(@NotNull PlaceholderContext placeholders, @Nullable PlaceholderProviders providers) {
+		this.context      = null;
+		this.placeholders = placeholders;
+		this.providers    = providers;
+	}
+	
+	/**
+	 * Returns the placeholder's value, computing it if it's lazy, or null if it's undefined.
+	 */
+	@Nullable Object get(@NotNull String name) {
+		if(this.placeholders != null) {
+			final @Nullable PlaceholderKey<?> key   = PlaceholderKey.find(name);
+			final @Nullable Object            value = key != null ? this.placeholders.get(key) : null;
+			return value != null || this.providers == null ? value : this.providers.get(name, null);
+		}
+		final @Nullable Object value = this.context.get(name);
+		if(!(value instanceof Supplier<?> supplier)) return value;
+		if(this.computed == null) this.computed = new HashMap<>(4);
+		if(this.computed.containsKey(name)) return this.computed.get(name);
+		final @Nullable Object computed = supplier.get();
+		this.computed.put(name, computed);
+		return computed;
+	}
+	
+	/**
+	 * Returns the placeholder's value as a string, or null if it's undefined, a {@link org.apache.commons.text.lookup.StringLookup}.
+	 */
+	@Nullable String lookup(@NotNull String name) {
+		final @Nullable Object value = this.get(name);
+		return value != null ? String.valueOf(value) : null;
+	}
+	
+	private @Nullable Object provided(@NotNull String name) {
+		return this.providers != null ? this.providers.get(name, null) : null;
+	}
+	
+	/**
+	 * Appends the slot's value, read by the slot's key index if the values come from a placeholder context.
+	 *
+	 * @return false if the placeholder is undefined, nothing is appended then
+	 */
+	boolean appendTo(@NotNull StringBuilder builder, @NotNull CompiledTemplate.Slot slot) {
+		if(this.placeholders != null && this.placeholders.appendTo(builder, slot.getKey().getIndex())) return true;
+		final @Nullable Object value = this.placeholders != null ? this.provided(slot.getName()) : this.get(slot.getName());
+		if(value == null) return false;
+		builder.append(value);
+		return true;
+	}
+	
+}
@@ -26,25 +26,21 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
- * A bridge between inconvertible Bungeecord and Bukkit components.
+ * A bridge between inconvertible Bungeecord and Bukkit components.<br>
+ * A message is its content and a {@link Style}, messages styled the same way share a single style.
  */
 @Getter
-@Builder
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @EqualsAndHashCode
 @ToString
 public final class Message {
 	
 	private final @NotNull String content;
-	
-	private final @Nullable Color color;
-	
-	@Singular("decorate")
-	private final @NotNull List<Decoration> decorations;
-	
-	private final @Nullable Click<?> clickEvent;
-	private final @Nullable Hover<?> hoverEvent;
+	private final @NotNull Style  style;
 	
 	public static @NotNull List<Message> empty() {
 		return List.of(Message.text(""));
@@ -54,11 +50,49 @@ public final class Message {
 		return Message.builder().content(text).build();
 	}
 	
+	public static @NotNull MessageBuilder builder() {
+		return new MessageBuilder();
+	}
+	
+	public @Nullable Color getColor() {
+		return this.style.getColor();
+	}
+	
+	/**
+	 * Returns the decorations, the set is shared and unmodifiable.
+	 */
 	public @NotNull Collection<Decoration> getDecorations() {
-		return new HashSet<>(this.decorations);
+		return this.style.getDecorations();
+	}
+	
+	public boolean hasDecoration(@NotNull Decoration decoration) {
+		return this.style.hasDecoration(decoration);
+	}
+	
+	public @Nullable Click<?> getClickEvent() {
+		return this.style.getClickEvent();
+	}
+	
+	public @Nullable Hover<?> getHoverEvent() {
+		return this.style.getHoverEvent();
 	}
 	
 	public static final class MessageBuilder {
+		
+		private @NotNull String content = "";
+		
+		/**
+		 * The style set through {@link #style(Style)}, null once any part of the style was changed.
+		 */
+		private @Nullable Style style = Style.EMPTY;
+		
+		private @Nullable Color    color       = null;
+		private           int      decorations = 0;
+		private @Nullable Click<?> clickEvent  = null;
+		private @Nullable Hover<?> hoverEvent  = null;
+		
+		private MessageBuilder() {}
+		
 		public @NotNull String content() {
 			return this.content;
 		}
@@ -67,6 +101,143 @@ public final class Message {
 			this.content = content;
 			return this;
 		}
+		
+		/**
+		 * Replaces the whole style, the style is shared with the built message if it's not changed afterwards.
+		 */
+		public @NotNull MessageBuilder style(@NotNull Style style) {
+			this.style       = style;
+			this.color       = style.getColor();
+			this.decorations = style.getDecorationMask();
+			this.clickEvent  = style.getClickEvent();
+			this.hoverEvent  = style.getHoverEvent();
+			return this;
+		}
+		
+		public @NotNull MessageBuilder color(@Nullable Color color) {
+			this.color = color;
+			this.style = null;
+			return this;
+		}
+		
+		public @NotNull MessageBuilder decorate(@NotNull Decoration decoration) {
+			this.decorations |= decoration.mask();
+			this.style = null;
+			return this;
+		}
+		
+		public @NotNull MessageBuilder decorations(@NotNull Collection<? extends Decoration> decorations) {
+			this.decorations |= Decoration.mask(decorations);
+			this.style = null;
+			return this;
+		}
+		
+		public @NotNull MessageBuilder clearDecorations() {
+			this.decorations = 0;
+			this.style       = null;
+			return this;
+		}
+		
+		public @NotNull MessageBuilder clickEvent(@Nullable Click<?> clickEvent) {
+			this.clickEvent = clickEvent;
+			this.style      = null;
+			return this;
+		}
+		
+		public @NotNull MessageBuilder hoverEvent(@Nullable Hover<?> hoverEvent) {
+			this.hoverEvent = hoverEvent;
+			this.style      = null;
+			return this;
+		}
+		
+		public @NotNull Message build() {
+			if(this.style == null) this.style = Style.of(this.color, this.decorations, this.clickEvent, this.hoverEvent);
+			return new Message(this.content, this.style);
+		}
+		
+	}
+	
+	/**
+	 * Everything about a message except its content.<br>
+	 * Decorations are stored as a bitmask, see {@link Decoration#mask()}, and styles without events are interned.
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	@EqualsAndHashCode
+	@ToString
+	public static final class Style {
+		
+		/**
+		 * Size of the cache of styles without events, must be a power of two.
+		 */
+		private static final int CACHE_SIZE = 1024;
+		
+		/**
+		 * Recently used styles without events, read and written without synchronization the same way {@link Color}'s cache is.
+		 */
+		private static final @Nullable Style[] CACHE = new Style[CACHE_SIZE];
+		
+		public static final @NotNull Style EMPTY = new Style(null, 0, null, null);
+		
+		private final @Nullable Color    color;
+		private final           int      decorationMask;
+		private final @Nullable Click<?> clickEvent;
+		private final @Nullable Hover<?> hoverEvent;
+		
+		/**
+		 * The style converted by a platform adapter, see {@link Hover#convert(Class, Function)}.
+		 */
+		@Getter(AccessLevel.NONE)
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		private volatile @Nullable Object converted = null;
+		
+		public static @NotNull Style of(@Nullable Color color, @NotNull Collection<? extends Decoration> decorations, @Nullable Click<?> clickEvent, @Nullable Hover<?> hoverEvent) {
+			return of(color, Decoration.mask(decorations), clickEvent, hoverEvent);
+		}
+		
+		/**
+		 * Returns the style, a style without events is usually shared with earlier calls.
+		 *
+		 * @param decorationMask bitmask of the decorations, see {@link Decoration#mask()}
+		 */
+		public static @NotNull Style of(@Nullable Color color, int decorationMask, @Nullable Click<?> clickEvent, @Nullable Hover<?> hoverEvent) {
+			if(clickEvent != null || hoverEvent != null) return new Style(color, decorationMask, clickEvent, hoverEvent);
+			if(color == null && decorationMask == 0) return EMPTY;
+			
+			final int hash = (color != null ? color.getValue() : 0) * 31 + decorationMask;
+			final int slot = (hash * 0x9e3779b9) >>> (32 - Integer.numberOfTrailingZeros(CACHE_SIZE));
+			final @Nullable Style cached = CACHE[slot];
+			if(cached != null && cached.decorationMask == decorationMask && Objects.equals(cached.color, color)) return cached;
+			
+			final @NotNull Style style = new Style(color, decorationMask, null, null);
+			CACHE[slot] = style;
+			return style;
+		}
+		
+		/**
+		 * Returns the decorations, the set is shared and unmodifiable.
+		 */
+		public @NotNull Set<Decoration> getDecorations() {
+			return Decoration.set(this.decorationMask);
+		}
+		
+		public boolean hasDecoration(@NotNull Decoration decoration) {
+			return (this.decorationMask & decoration.mask()) != 0;
+		}
+		
+		/**
+		 * Returns the style converted by the converter, the result is remembered for all later conversions to the same type.<br>
+		 * Styles are shared between messages, thus a style is usually converted once for many messages.
+		 */
+		<T> @NotNull T convert(@NotNull Class<T> type, @NotNull Function<? super Style, ? extends T> converter) {
+			final @Nullable Object converted = this.converted;
+			if(type.isInstance(converted)) return type.cast(converted);
+			final @NotNull T result = converter.apply(this);
+			this.converted = result;
+			return result;
+		}
+		
 	}
 	
 	@Getter
@@ -75,69 +246,155 @@ public final class Message {
 	public static final class Color {
 		private final int value;
 		
-		private static final @NotNull Map<Integer, Color> CACHE = new HashMap<>();
-		
-		public static final @NotNull Color BLACK        = color(0x000000);
-		public static final @NotNull Color DARK_BLUE    = color(0x0000aa);
-		public static final @NotNull Color DARK_GREEN   = color(0x00aa00);
-		public static final @NotNull Color DARK_AQUA    = color(0x00aaaa);
-		public static final @NotNull Color DARK_RED     = color(0xaa0000);
-		public static final @NotNull Color DARK_PURPLE  = color(0xaa00aa);
-		public static final @NotNull Color GOLD         = color(0xffaa00);
-		public static final @NotNull Color GRAY         = color(0xaaaaaa);
-		public static final @NotNull Color DARK_GRAY    = color(0x555555);
-		public static final @NotNull Color BLUE         = color(0x5555ff);
-		public static final @NotNull Color GREEN        = color(0x55ff55);
-		public static final @NotNull Color AQUA         = color(0x55ffff);
-		public static final @NotNull Color RED          = color(0xff5555);
-		public static final @NotNull Color LIGHT_PURPLE = color(0xff55ff);
-		public static final @NotNull Color YELLOW       = color(0xffff55);
-		public static final @NotNull Color WHITE        = color(0xffffff);
+		/**
+		 * Size of the cache of colors other than the legacy ones, must be a power of two.
+		 */
+		private static final int CACHE_SIZE = 1024;
+		
+		/**
+		 * Recently used colors, each color has a single slot and a color taking an occupied slot evicts the previous one.<br>
+		 * Colors are immutable, so the slots are read and written without any synchronization,
+		 * a thread may miss a color just cached by another thread, which only results in an equal instance.
+		 */
+		private static final @Nullable Color[] CACHE = new Color[CACHE_SIZE];
+		
+		public static final @NotNull Color BLACK        = new Color(0x000000);
+		public static final @NotNull Color DARK_BLUE    = new Color(0x0000aa);
+		public static final @NotNull Color DARK_GREEN   = new Color(0x00aa00);
+		public static final @NotNull Color DARK_AQUA    = new Color(0x00aaaa);
+		public static final @NotNull Color DARK_RED     = new Color(0xaa0000);
+		public static final @NotNull Color DARK_PURPLE  = new Color(0xaa00aa);
+		public static final @NotNull Color GOLD         = new Color(0xffaa00);
+		public static final @NotNull Color GRAY         = new Color(0xaaaaaa);
+		public static final @NotNull Color DARK_GRAY    = new Color(0x555555);
+		public static final @NotNull Color BLUE         = new Color(0x5555ff);
+		public static final @NotNull Color GREEN        = new Color(0x55ff55);
+		public static final @NotNull Color AQUA         = new Color(0x55ffff);
+		public static final @NotNull Color RED          = new Color(0xff5555);
+		public static final @NotNull Color LIGHT_PURPLE = new Color(0xff55ff);
+		public static final @NotNull Color YELLOW       = new Color(0xffff55);
+		public static final @NotNull Color WHITE        = new Color(0xffffff);
+		
+		/**
+		 * The legacy colors, always returned by {@link #color(int)} for their values.
+		 */
+		private static final @NotNull Color[] LEGACY = {
+			BLACK, DARK_BLUE, DARK_GREEN, DARK_AQUA, DARK_RED, DARK_PURPLE, GOLD, GRAY,
+			DARK_GRAY, BLUE, GREEN, AQUA, RED, LIGHT_PURPLE, YELLOW, WHITE
+		};
+		
+		private static final @NotNull KeywordTable<Color> NAMES = KeywordTable.of(Map.ofEntries(
+			Map.entry("black", BLACK),
+			Map.entry("dark-blue", DARK_BLUE),
+			Map.entry("dark_blue", DARK_BLUE),
+			Map.entry("dark-green", DARK_GREEN),
+			Map.entry("dark_green", DARK_GREEN),
+			Map.entry("dark-aqua", DARK_AQUA),
+			Map.entry("dark_aqua", DARK_AQUA),
+			Map.entry("dark-red", DARK_RED),
+			Map.entry("dark_red", DARK_RED),
+			Map.entry("dark-purple", DARK_PURPLE),
+			Map.entry("dark_purple", DARK_PURPLE),
+			Map.entry("gold", GOLD),
+			Map.entry("dark-yellow", GOLD),
+			Map.entry("dark_yellow", GOLD),
+			Map.entry("gray", GRAY),
+			Map.entry("grey", GRAY),
+			Map.entry("dark-gray", DARK_GRAY),
+			Map.entry("dark-grey", DARK_GRAY),
+			Map.entry("dark_gray", DARK_GRAY),
+			Map.entry("dark_grey", DARK_GRAY),
+			Map.entry("blue", BLUE),
+			Map.entry("green", GREEN),
+			Map.entry("aqua", AQUA),
+			Map.entry("red", RED),
+			Map.entry("light-purple", LIGHT_PURPLE),
+			Map.entry("yellow", YELLOW),
+			Map.entry("white", WHITE)
+		));
+		
+		/**
+		 * Returned by the number scanners if the range isn't a number that fits in an int.
+		 */
+		private static final long NOT_A_NUMBER = Long.MIN_VALUE;
 		
 		public static @Nullable Message.Color matchColor(@NotNull String color) {
-			@Nullable Message.Color hexMatch = fromHexString(color);
-			if(hexMatch != null) return hexMatch;
-			
-			try {
-				int decimal = Integer.parseInt(color);
-				return Message.Color.color(decimal);
-			} catch(NumberFormatException ignored) {
+			return matchColor(color, 0, color.length());
+		}
+		
+		/**
+		 * Matches a color written as a hex string, a decimal number or a name, without allocating.
+		 *
+		 * @param from start of the range, inclusive
+		 * @param to   end of the range, exclusive
+		 */
+		public static @Nullable Message.Color matchColor(@NotNull CharSequence source, int from, int to) {
+			if(from < to && source.charAt(from) == '#') {
+				final long hex = scanNumber(source, from + 1, to, 16);
+				return hex != NOT_A_NUMBER ? color((int) hex) : null;
 			}
 			
-			return switch(color.toLowerCase()) {
-				case "black" -> Message.Color.BLACK;
-				case "dark-blue", "dark_blue" -> Message.Color.DARK_BLUE;
-				case "dark-green", "dark_green" -> Message.Color.DARK_GREEN;
-				case "dark-aqua", "dark_aqua" -> Message.Color.DARK_AQUA;
-				case "dark-red", "dark_red" -> Message.Color.DARK_RED;
-				case "dark-purple", "dark_purple" -> Message.Color.DARK_PURPLE;
-				case "gold", "dark-yellow", "dark_yellow" -> Message.Color.GOLD;
-				case "gray", "grey" -> Message.Color.GRAY;
-				case "dark-gray", "dark-grey", "dark_gray", "dark_grey" -> Message.Color.DARK_GRAY;
-				case "blue" -> Message.Color.BLUE;
-				case "green" -> Message.Color.GREEN;
-				case "aqua" -> Message.Color.AQUA;
-				case "red" -> Message.Color.RED;
-				case "light-purple" -> Message.Color.LIGHT_PURPLE;
-				case "yellow" -> Message.Color.YELLOW;
-				case "white" -> Message.Color.WHITE;
-				default -> null;
-			};
+			final long decimal = scanNumber(source, from, to, 10);
+			if(decimal != NOT_A_NUMBER) return color((int) decimal);
+			
+			return NAMES.get(source, from, to);
 		}
 		
 		public static @Nullable Color fromHexString(@NotNull String hex) {
 			if(hex.startsWith("#")) {
-				try {
-					return color(Integer.parseInt(hex.substring(1), 16));
-				} catch(NumberFormatException ex) {
-					return null;
-				}
+				final long value = scanNumber(hex, 1, hex.length(), 16);
+				return value != NOT_A_NUMBER ? color((int) value) : null;
 			}
 			return null;
 		}
 		
+		/**
+		 * Same as {@link Integer#parseInt(String, int)} limited to ASCII digits, but returns {@link #NOT_A_NUMBER} instead of throwing.
+		 */
+		private static long scanNumber(@NotNull CharSequence source, int from, int to, int radix) {
+			if(from >= to) return NOT_A_NUMBER;
+			final char sign = source.charAt(from);
+			final boolean negative = sign == '-';
+			if(negative || sign == '+') {
+				if(++from == to) return NOT_A_NUMBER;
+			}
+			
+			long value = 0;
+			for(int i = from; i < to; i++) {
+				final char c = source.charAt(i);
+				final int digit;
+				if(c >= '0' && c <= '9') {
+					digit = c - '0';
+				} else if(radix == 16 && c >= 'a' && c <= 'f') {
+					digit = c - 'a' + 10;
+				} else if(radix == 16 && c >= 'A' && c <= 'F') {
+					digit = c - 'A' + 10;
+				} else {
+					return NOT_A_NUMBER;
+				}
+				value = value * radix + digit;
+				if(value > (long) Integer.MAX_VALUE + 1) return NOT_A_NUMBER;
+			}
+			if(negative) return -value;
+			return value > Integer.MAX_VALUE ? NOT_A_NUMBER : value;
+		}
+		
+		/**
+		 * Returns the color of the value, interned if it's one of the legacy colors and usually shared with earlier calls otherwise.<br>
+		 * Colors are compared by their value, so an evicted color stays equal to the one replacing it.
+		 */
 		public static @NotNull Color color(int decimal) {
-			return CACHE.computeIfAbsent(decimal, Color::new);
+			for(final @NotNull Color legacy : LEGACY) {
+				if(legacy.value == decimal) return legacy;
+			}
+			
+			final int slot = (decimal * 0x9e3779b9) >>> (32 - Integer.numberOfTrailingZeros(CACHE_SIZE));
+			final @Nullable Color cached = CACHE[slot];
+			if(cached != null && cached.value == decimal) return cached;
+			
+			final @NotNull Color color = new Color(decimal);
+			CACHE[slot] = color;
+			return color;
 		}
 		
 		public @NotNull String toString() {
@@ -153,15 +410,64 @@ public final class Message {
 		UNDERLINED,
 		ITALIC;
 		
+		/**
+		 * Unmodifiable sets of decorations, indexed by their bitmask.
+		 */
+		private static final @NotNull List<Set<Decoration>> SETS = IntStream
+			.range(0, 1 << values().length)
+			.mapToObj(mask -> {
+				final @NotNull EnumSet<Decoration> set = EnumSet.noneOf(Decoration.class);
+				for(final @NotNull Decoration decoration : values()) {
+					if((mask & decoration.mask()) != 0) set.add(decoration);
+				}
+				return Collections.unmodifiableSet(set);
+			})
+			.toList();
+		
+		private static final @NotNull KeywordTable<Decoration> NAMES = KeywordTable.of(Map.ofEntries(
+			Map.entry("obfuscate", OBFUSCATED),
+			Map.entry("obfuscated", OBFUSCATED),
+			Map.entry("matrix", OBFUSCATED),
+			Map.entry("bold", BOLD),
+			Map.entry("strikethrough", STRIKETHROUGH),
+			Map.entry("strike", STRIKETHROUGH),
+			Map.entry("underline", UNDERLINED),
+			Map.entry("underlined", UNDERLINED),
+			Map.entry("italic", ITALIC),
+			Map.entry("italics", ITALIC)
+		));
+		
+		/**
+		 * Returns the decoration's bit in a bitmask of decorations.
+		 */
+		public int mask() {
+			return 1 << this.ordinal();
+		}
+		
+		public static int mask(@NotNull Collection<? extends Decoration> decorations) {
+			int mask = 0;
+			for(final @NotNull Decoration decoration : decorations) {
+				mask |= decoration.mask();
+			}
+			return mask;
+		}
+		
+		/**
+		 * Returns the decorations of the bitmask, the set is shared and unmodifiable.
+		 */
+		public static @NotNull Set<Decoration> set(int mask) {
+			return SETS.get(mask);
+		}
+		
 		public static @Nullable Message.Decoration matchDecoration(@NotNull String decoration) {
-			return switch(decoration.toLowerCase()) {
-				case "obfuscate", "obfuscated", "matrix" -> Message.Decoration.OBFUSCATED;
-				case "bold" -> Message.Decoration.BOLD;
-				case "strikethrough", "strike" -> Message.Decoration.STRIKETHROUGH;
-				case "underline", "underlined" -> Message.Decoration.UNDERLINED;
-				case "italic", "italics" -> Message.Decoration.ITALIC;
-				default -> null;
-			};
+			return matchDecoration(decoration, 0, decoration.length());
+		}
+		
+		/**
+		 * Matches a decoration by its name ignoring case, without allocating.
+		 */
+		public static @Nullable Message.Decoration matchDecoration(@NotNull CharSequence source, int from, int to) {
+			return NAMES.get(source, from, to);
 		}
 	}
 	
@@ -198,6 +504,22 @@ public final class Message {
 			return new Click<>(Action.SUGGEST_COMMAND, command);
 		}
 		
+		/**
+		 * Creates a click event of the given action from its raw value.
+		 *
+		 * @throws NumberFormatException if the action expects a number and the value isn't one
+		 */
+		public static @NotNull Click<?> of(@NotNull Action action, @NotNull String value) {
+			return switch(action) {
+				case CHANGE_PAGE -> changePage(Integer.parseInt(value));
+				case COPY_TO_CLIPBOARD -> copyToClipboard(value);
+				case OPEN_FILE -> openFile(value);
+				case OPEN_URL -> openUrl(value);
+				case RUN_COMMAND -> runCommand(value);
+				case SUGGEST_COMMAND -> suggestCommand(value);
+			};
+		}
+		
 		public enum Action {
 			CHANGE_PAGE,
 			COPY_TO_CLIPBOARD,
@@ -206,16 +528,39 @@ public final class Message {
 			RUN_COMMAND,
 			SUGGEST_COMMAND;
 			
+			private static final @NotNull KeywordTable<Action> NAMES = KeywordTable.of(Map.ofEntries(
+				Map.entry("change-page", CHANGE_PAGE),
+				Map.entry("change_page", CHANGE_PAGE),
+				Map.entry("page", CHANGE_PAGE),
+				Map.entry("copy-to-clipboard", COPY_TO_CLIPBOARD),
+				Map.entry("copy_to_clipboard", COPY_TO_CLIPBOARD),
+				Map.entry("copy", COPY_TO_CLIPBOARD),
+				Map.entry("clipboard", COPY_TO_CLIPBOARD),
+				Map.entry("open-file", OPEN_FILE),
+				Map.entry("open_file", OPEN_FILE),
+				Map.entry("file", OPEN_FILE),
+				Map.entry("open-url", OPEN_URL),
+				Map.entry("open_url", OPEN_URL),
+				Map.entry("url", OPEN_URL),
+				Map.entry("link", OPEN_URL),
+				Map.entry("run-command", RUN_COMMAND),
+				Map.entry("run_command", RUN_COMMAND),
+				Map.entry("command", RUN_COMMAND),
+				Map.entry("run", RUN_COMMAND),
+				Map.entry("suggest-command", SUGGEST_COMMAND),
+				Map.entry("suggest_command", SUGGEST_COMMAND),
+				Map.entry("suggest", SUGGEST_COMMAND)
+			));
+			
 			public static @Nullable Message.Click.Action matchClickAction(@NotNull String action) {
-				return switch(action.toLowerCase()) {
-					case "change-page", "change_page", "page" -> Message.Click.Action.CHANGE_PAGE;
-					case "copy-to-clipboard", "copy_to_clipboard", "copy", "clipboard" -> Message.Click.Action.COPY_TO_CLIPBOARD;
-					case "open-file", "open_file", "file" -> Message.Click.Action.OPEN_FILE;
-					case "open-url", "open_url", "url", "link" -> Message.Click.Action.OPEN_URL;
-					case "run-command", "run_command", "command", "run" -> Message.Click.Action.RUN_COMMAND;
-					case "suggest-command", "suggest_command", "suggest" -> Message.Click.Action.SUGGEST_COMMAND;
-					default -> null;
-				};
+				return matchClickAction(action, 0, action.length());
+			}
+			
+			/**
+			 * Matches a click action by its name ignoring case, without allocating.
+			 */
+			public static @Nullable Message.Click.Action matchClickAction(@NotNull CharSequence source, int from, int to) {
+				return NAMES.get(source, from, to);
 			}
 		}
 	}
@@ -229,6 +574,25 @@ public final class Message {
 		private final @NotNull Action action;
 		private final @NotNull V      value;
 		
+		/**
+		 * The hover converted by a platform adapter, hovers are immutable thus they're converted only once.
+		 */
+		@Getter(AccessLevel.NONE)
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		private volatile @Nullable Object converted = null;
+		
+		/**
+		 * Returns the hover converted by the converter, the result is remembered for all later conversions to the same type.
+		 */
+		<T> @NotNull T convert(@NotNull Class<T> type, @NotNull Function<? super Hover<V>, ? extends T> converter) {
+			final @Nullable Object converted = this.converted;
+			if(type.isInstance(converted)) return type.cast(converted);
+			final @NotNull T result = converter.apply(this);
+			this.converted = result;
+			return result;
+		}
+		
 		public static @NotNull Hover<List<Message>> showText(@NotNull List<Message> text) {
 			return new Hover<>(Action.SHOW_TEXT, text);
 		}
@@ -246,13 +610,27 @@ public final class Message {
 			SHOW_ENTITY,
 			SHOW_ITEM;
 			
+			private static final @NotNull KeywordTable<Action> NAMES = KeywordTable.of(Map.ofEntries(
+				Map.entry("text", SHOW_TEXT),
+				Map.entry("show-text", SHOW_TEXT),
+				Map.entry("show_text", SHOW_TEXT),
+				Map.entry("entity", SHOW_ENTITY),
+				Map.entry("show-entity", SHOW_ENTITY),
+				Map.entry("show_entity", SHOW_ENTITY),
+				Map.entry("item", SHOW_ITEM),
+				Map.entry("show-item", SHOW_ITEM),
+				Map.entry("show_item", SHOW_ITEM)
+			));
+			
 			public static @Nullable Message.Hover.Action matchHoverAction(@NotNull String action) {
-				return switch(action.toLowerCase()) {
-					case "text", "show-text", "show_text" -> Message.Hover.Action.SHOW_TEXT;
-					case "entity", "show-entity", "show_entity" -> Message.Hover.Action.SHOW_ENTITY;
-					case "item", "show-item", "show_item" -> Message.Hover.Action.SHOW_ITEM;
-					default -> null;
-				};
+				return matchHoverAction(action, 0, action.length());
+			}
+			
+			/**
+			 * Matches a hover action by its name ignoring case, without allocating.
+			 */
+			public static @Nullable Message.Hover.Action matchHoverAction(@NotNull CharSequence source, int from, int to) {
+				return NAMES.get(source, from, to);
 			}
 		}
 	}
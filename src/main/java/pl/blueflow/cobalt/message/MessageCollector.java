@@ -0,0 +1,146 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Collects a parsed message into a list of messages, each carrying its own style and the events of the actions it's inside of.<br>
+ * A style without any text still results in an empty message.
+ */
+final class MessageCollector implements MessageSink<List<Message>> {
+	
+	private final @Nullable Consumer<Message.MessageBuilder> with;
+	
+	private final @NotNull List<Message> messages = new ArrayList<>();
+	
+	private @Nullable Message.Color            color       = null;
+	private @NotNull  List<Message.Decoration> decorations = List.of();
+	
+	private boolean styled = false;
+	private boolean empty  = false;
+	
+	private final @NotNull ArrayList<Message.Click<?>> clicks = new ArrayList<>();
+	private final @NotNull ArrayList<Message.Hover<?>> hovers = new ArrayList<>();
+	
+	/**
+	 * Kinds of the pushes, true for clicks and false for hovers.
+	 */
+	private final @NotNull ArrayList<Boolean> frames = new ArrayList<>();
+	
+	/**
+	 * The style of the following messages, shared by all of them, null if it has to be created again.
+	 */
+	private @Nullable Message.Style style = null;
+	
+	/**
+	 * @param with a consumer to accept for all builders, accepted after the builder's setup is complete
+	 */
+	MessageCollector(@Nullable Consumer<Message.MessageBuilder> with) {
+		this.with = with;
+	}
+	
+	private void add(@NotNull String text) {
+		if(this.style == null) {
+			this.style = Message.Style.of(
+				this.color,
+				this.decorations,
+				this.clicks.isEmpty() ? null : this.clicks.get(this.clicks.size() - 1),
+				this.hovers.isEmpty() ? null : this.hovers.get(this.hovers.size() - 1)
+			);
+		}
+		final @NotNull Message.MessageBuilder builder = Message
+			.builder()
+			.content(text)
+			.style(this.style);
+		if(this.with != null) this.with.accept(builder);
+		this.messages.add(builder.build());
+	}
+	
+	@Override
+	public void text(@NotNull String text) {
+		this.add(text);
+		this.empty = false;
+	}
+	
+	@Override
+	public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+		this.color       = color;
+		this.decorations = decorations;
+		this.styled      = true;
+		this.empty       = true;
+		this.style       = null;
+	}
+	
+	@Override
+	public void pushClick(@NotNull Message.Click<?> click) {
+		this.clicks.add(click);
+		this.frames.add(Boolean.TRUE);
+		this.style = null;
+	}
+	
+	@Override
+	public void pushHover(@NotNull List<Message> content) {
+		this.hovers.add(Message.Hover.showText(content));
+		this.frames.add(Boolean.FALSE);
+		this.style = null;
+	}
+	
+	@Override
+	public void pop() {
+		if(this.styled) {
+			if(this.empty) this.add("");
+			this.color       = null;
+			this.decorations = List.of();
+			this.styled      = false;
+			this.style       = null;
+			return;
+		}
+		if(this.frames.remove(this.frames.size() - 1)) {
+			this.clicks.remove(this.clicks.size() - 1);
+		} else {
+			this.hovers.remove(this.hovers.size() - 1);
+		}
+		this.style = null;
+	}
+	
+	/**
+	 * Hovers are collected without the consumer.
+	 */
+	@Override
+	public @NotNull MessageSink<List<Message>> fork() {
+		return new MessageCollector(null);
+	}
+	
+	@Override
+	public @NotNull List<Message> result() {
+		if(this.messages.isEmpty()) return Message.empty();
+		return Collections.unmodifiableList(this.messages);
+	}
+	
+}
@@ -0,0 +1,105 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single problem found in a message, see {@link MessageTranslator#validate(String, ParseProfile)}.<br>
+ * Creating a diagnostic only records where the problem is, the description is formatted when it's asked for.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class MessageDiagnostic {
+	
+	private final @NotNull  Kind   kind;
+	private final @NotNull  String source;
+	
+	/**
+	 * Position the problem is reported at.
+	 */
+	private final int position;
+	
+	/**
+	 * Start of the offending fragment, inclusive.
+	 */
+	private final int start;
+	
+	/**
+	 * End of the offending fragment, exclusive.
+	 */
+	private final int end;
+	
+	/**
+	 * The offending part of the tag, e.g. an unrecognized modifier, used to describe the problem.
+	 */
+	private final @Nullable String detail;
+	
+	/**
+	 * Returns the offending fragment of the source.
+	 */
+	public @NotNull String getFragment() {
+		return this.source.substring(this.start, this.end);
+	}
+	
+	/**
+	 * Returns the human-readable description of the problem.
+	 */
+	public @NotNull String getMessage() {
+		return this.detail != null ? String.format(this.kind.getDescription(), this.detail) : this.kind.getDescription();
+	}
+	
+	@Override
+	public @NotNull String toString() {
+		return this.kind + " at " + this.position + ": " + this.getMessage();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public enum Kind {
+		MISSING_STYLE_SUFFIX("style tag missing a close brace"),
+		UNKNOWN_STYLE_MODIFIER("style tag contains an unrecognized modifier '%s'"),
+		FORBIDDEN_STYLE_MODIFIER("style tag contains a forbidden modifier '%s'"),
+		MISSING_ACTION_SUFFIX("action tag missing a close brace"),
+		MISSING_ACTION_END("action tag is missing an end branch"),
+		MISSING_ACTION_PARAMETERS("action tag is missing parameters"),
+		UNKNOWN_ACTION("action tag contains an unrecognized action '%s'"),
+		UNSUPPORTED_ACTION("action tag contains an action '%s' which isn't supported"),
+		INVALID_PAGE_NUMBER("unrecognized number in page change '%s'"),
+		MISSING_HOVER_PREFIX("action tag is missing hover parenthesis open"),
+		MISSING_HOVER_SUFFIX("action tag is missing hover parenthesis close"),
+		UNEXPECTED_AFTER_HOVER("action tag must end immediately after hover parenthesis close, expected '" + MessageTranslator.ACTION_SUFFIX + "' got '%s'"),
+		PLACEHOLDER_IN_TAG("placeholders of a compiled template cannot be used inside tags"),
+		UNDEFINED_PLACEHOLDER("undefined placeholder '%s'"),
+		LENGTH_LIMIT("message exceeds the limit of %s characters"),
+		TAG_LIMIT("message exceeds the limit of %s tags"),
+		DEPTH_LIMIT("message exceeds the limit of %s nested actions");
+		
+		private final @NotNull String description;
+		
+	}
+	
+}
@@ -21,24 +21,65 @@
 
 package pl.blueflow.cobalt.message;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Thrown when a message is improperly formatted, the exception's message is formatted only when it's asked for.
+ */
 @Getter
 public class MessageFormattingException extends IllegalArgumentException {
 	
 	private final @NotNull String source;
 	private final int position;
 	
+	@Getter(AccessLevel.NONE)
+	private final @Nullable String reason;
+	
+	/**
+	 * The diagnostic the exception was created from, null if it was created with a plain description.
+	 */
+	private final @Nullable MessageDiagnostic diagnostic;
+	
+	@Getter(AccessLevel.NONE)
+	private @Nullable String message = null;
+	
 	public MessageFormattingException(@NotNull String source, int position, @NotNull String message) {
 		this(source, position, message, null);
 	}
 	
 	public MessageFormattingException(@NotNull String source, int position, @NotNull String message, @Nullable Throwable cause) {
-		super(String.format("improperly formatted message: %s; source: %s", message, generateSource(source, position)), cause);
-		this.source = source;
-		this.position = position;
+		super(null, cause);
+		this.source     = source;
+		this.position   = position;
+		this.reason     = message;
+		this.diagnostic = null;
+	}
+	
+	public MessageFormattingException(@NotNull MessageDiagnostic diagnostic, @Nullable Throwable cause) {
+		super(null, cause);
+		this.source     = diagnostic.getSource();
+		this.position   = diagnostic.getPosition();
+		this.reason     = null;
+		this.diagnostic = diagnostic;
+	}
+	
+	/**
+	 * Returns the problem's description, without the source.
+	 */
+	public @NotNull String getReason() {
+		if(this.diagnostic != null) return this.diagnostic.getMessage();
+		return this.reason != null ? this.reason : "";
+	}
+	
+	@Override
+	public @NotNull String getMessage() {
+		if(this.message == null) {
+			this.message = String.format("improperly formatted message: %s; source: %s", this.getReason(), generateSource(this.source, this.position));
+		}
+		return this.message;
 	}
 	
 	private static @NotNull String generateSource(@NotNull String source, int position) {
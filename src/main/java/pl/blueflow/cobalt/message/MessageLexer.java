@@ -0,0 +1,598 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static pl.blueflow.cobalt.message.MessageTranslator.*;
+
+/**
+ * A single pass tokenizer for the {@link MessageTranslator} language.<br>
+ * The source is swept forward exactly once, every recognized tag is reported to the {@link Handler} as soon as it's read,
+ * action bodies and hover contents are lexed inline instead of being parsed again.
+ */
+final class MessageLexer {
+	
+	private final @NotNull String       source;
+	private final @NotNull Handler      handler;
+	private final @NotNull ParseProfile profile;
+	
+	private final boolean placeholdersEnabled;
+	
+	/**
+	 * Receives the problems found, if null the first problem is thrown unless the profile is lenient.
+	 */
+	private final @Nullable List<MessageDiagnostic> diagnostics;
+	
+	private final @NotNull StringBuilder text = new StringBuilder();
+	
+	private int position = 0;
+	private int runStart = 0;
+	
+	private int[] actions     = new int[4];
+	private int   actionDepth = 0;
+	private int   hoverOpen   = -1;
+	private int   hoverStart  = -1;
+	private int   tags        = 0;
+	
+	private boolean aborted = false;
+	
+	// Last lookup of indexOf, every later lookup of the same string falling into the scanned range is answered without scanning again
+	private @Nullable String lookupSearch = null;
+	private           int    lookupFrom   = -1;
+	private           int    lookupResult = -1;
+	
+	/**
+	 * @param source              the source to tokenize
+	 * @param handler             the handler to report to
+	 * @param profile             the recognized subset of the language and its limits
+	 * @param placeholdersEnabled whether placeholders are reported as slots instead of being treated as text
+	 * @param diagnostics         the list to add found problems to instead of throwing them
+	 */
+	MessageLexer(@NotNull String source, @NotNull Handler handler, @NotNull ParseProfile profile, boolean placeholdersEnabled, @Nullable List<MessageDiagnostic> diagnostics) {
+		this.source              = source;
+		this.handler             = handler;
+		this.profile             = profile;
+		this.placeholdersEnabled = placeholdersEnabled;
+		this.diagnostics         = diagnostics;
+	}
+	
+	/**
+	 * Tokenizes the whole source.<br>
+	 * With a lenient profile broken tags are reported as text and unclosed actions are closed at the end of the source,
+	 * otherwise tokenizing stops on the first problem.
+	 *
+	 * @return true if the whole source was tokenized
+	 * @throws MessageFormattingException if the source is improperly formatted and the lexer was created without a diagnostics list
+	 */
+	boolean lex() {
+		final int length = this.source.length();
+		if(length > this.profile.getMaxLength()) {
+			// Nothing to recover from, even lenient profiles refuse to process the message
+			final @NotNull MessageDiagnostic diagnostic = new MessageDiagnostic(
+				MessageDiagnostic.Kind.LENGTH_LIMIT,
+				this.source,
+				this.profile.getMaxLength(),
+				this.profile.getMaxLength(),
+				length,
+				String.valueOf(this.profile.getMaxLength())
+			);
+			if(this.diagnostics == null) throw new MessageFormattingException(diagnostic, null);
+			this.diagnostics.add(diagnostic);
+			return false;
+		}
+		
+		final boolean stylesEnabled  = this.profile.isStylesAllowed();
+		final boolean actionsEnabled = this.profile.isActionsAllowed();
+		while(!this.aborted && this.position < length) {
+			if(this.source.startsWith(ESCAPED_PLACEHOLDER_PREFIX, this.position)) {
+				this.escape(ESCAPED_PLACEHOLDER_PREFIX.length(), PLACEHOLDER_PREFIX);
+			} else if(this.placeholdersEnabled && this.source.startsWith(PLACEHOLDER_PREFIX, this.position)) {
+				this.placeholder();
+			} else if(this.source.startsWith(ESCAPED_STYLE_PREFIX, this.position)) {
+				this.escape(ESCAPED_STYLE_PREFIX.length(), STYLE_PREFIX);
+			} else if(stylesEnabled && this.source.startsWith(STYLE_PREFIX, this.position)) {
+				this.style();
+			} else if(this.source.startsWith(ESCAPED_ACTION_PREFIX, this.position)) {
+				this.escape(ESCAPED_ACTION_PREFIX.length(), ACTION_PREFIX);
+			} else if(actionsEnabled && this.hoverOpen == -1 && this.source.startsWith(ACTION_PREFIX, this.position)) {
+				this.action();
+			} else if(this.source.startsWith(ACTION_END_ESCAPE, this.position)) {
+				this.escape(ACTION_END_ESCAPE.length(), ACTION_END);
+			} else if(this.actionDepth > 0 && this.hoverOpen == -1 && this.source.startsWith(ACTION_END, this.position)) {
+				this.end();
+			} else if(this.hoverOpen != -1 && this.source.startsWith(ESCAPED_HOVER_CONTENT_SUFFIX, this.position)) {
+				this.escape(ESCAPED_HOVER_CONTENT_SUFFIX.length(), HOVER_CONTENT_SUFFIX);
+			} else if(this.hoverOpen != -1 && this.source.startsWith(HOVER_CONTENT_SUFFIX, this.position)) {
+				this.hoverEnd();
+			} else {
+				this.position++;
+			}
+		}
+		
+		if(this.aborted) return false;
+		
+		if(this.hoverOpen != -1) {
+			if(!this.report(MessageDiagnostic.Kind.MISSING_HOVER_SUFFIX, this.hoverOpen, this.hoverOpen + ACTION_PREFIX_LENGTH, length, null, null)) return false;
+			this.flush(length);
+			this.handler.endHover(this.hoverStart, length);
+			this.hoverOpen = -1;
+			this.openAction(length);
+		}
+		if(this.actionDepth > 0) {
+			final int close = this.actions[this.actionDepth - 1];
+			if(!this.report(MessageDiagnostic.Kind.MISSING_ACTION_END, close, close + ACTION_SUFFIX_LENGTH, length, null, null)) return false;
+			this.flush(length);
+			this.skip(length);
+			while(this.actionDepth > 0) {
+				this.handler.end();
+				this.actionDepth--;
+			}
+		}
+		this.flush(length);
+		return true;
+	}
+	
+	/**
+	 * Reports a problem with the fragment between start and end.
+	 *
+	 * @return true if the lexer should recover and go on
+	 * @throws MessageFormattingException if the lexer was created without a diagnostics list and the profile isn't lenient
+	 */
+	private boolean report(@NotNull MessageDiagnostic.Kind kind, int start, int position, int end, @Nullable String detail, @Nullable Throwable cause) {
+		final int length = this.source.length();
+		final @NotNull MessageDiagnostic diagnostic = new MessageDiagnostic(kind, this.source, Math.min(position, length), Math.min(start, length), Math.min(end, length), detail);
+		if(this.diagnostics == null && !this.profile.isLenient()) throw new MessageFormattingException(diagnostic, cause);
+		if(this.diagnostics != null) this.diagnostics.add(diagnostic);
+		if(this.profile.isLenient()) return true;
+		this.aborted = true;
+		return false;
+	}
+	
+	/**
+	 * Reports a problem with a tag and, if recovering, continues after the tag's first characters treating them as text.
+	 */
+	private void reportTag(@NotNull MessageDiagnostic.Kind kind, int start, int position, int end, @Nullable String detail, @Nullable Throwable cause, int skip) {
+		if(this.report(kind, start, position, end, detail, cause)) this.position = start + skip;
+	}
+	
+	/**
+	 * Same as {@link String#indexOf(String, int)}, but remembers the scanned range.
+	 */
+	private int indexOf(@NotNull String search, int from) {
+		if(search.equals(this.lookupSearch) && from >= this.lookupFrom && (this.lookupResult == -1 || from <= this.lookupResult)) {
+			return this.lookupResult;
+		}
+		this.lookupSearch = search;
+		this.lookupFrom   = from;
+		this.lookupResult = this.source.indexOf(search, from);
+		return this.lookupResult;
+	}
+	
+	/**
+	 * Same as {@link String#indexOf(String, int)}, but only looks for a match starting before the limit.
+	 */
+	private int indexOfBefore(@NotNull String search, int from, int limit) {
+		for(int i = from; i < limit; i++) {
+			if(this.source.startsWith(search, i)) return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Moves all text up to the position into the buffer.
+	 */
+	private void append(int to) {
+		if(to > this.runStart) this.text.append(this.source, this.runStart, to);
+	}
+	
+	/**
+	 * Reports all buffered text up to the position, as a single string.
+	 */
+	private void flush(int to) {
+		if(this.text.length() == 0) {
+			// Nothing was unescaped, the text is copied straight out of the source
+			if(to > this.runStart) this.handler.text(this.source.substring(this.runStart, to));
+			return;
+		}
+		this.append(to);
+		this.handler.text(this.text.toString());
+		this.text.setLength(0);
+	}
+	
+	private void skip(int to) {
+		this.position = to;
+		this.runStart = to;
+	}
+	
+	private void escape(int length, @NotNull String replacement) {
+		this.append(this.position);
+		this.text.append(replacement);
+		this.skip(this.position + length);
+	}
+	
+	private void placeholder() {
+		final int open  = this.position;
+		final int close = this.indexOf(PLACEHOLDER_SUFFIX, open + PLACEHOLDER_PREFIX_LENGTH);
+		if(close == -1) {
+			// Unterminated placeholders are left as they are, same as the substitutor does
+			this.position += PLACEHOLDER_PREFIX_LENGTH;
+			return;
+		}
+		if(!this.countTag(open, PLACEHOLDER_PREFIX_LENGTH)) return;
+		this.flush(open);
+		this.handler.slot(CompiledTemplate.Slot.of(this.source.substring(open + PLACEHOLDER_PREFIX_LENGTH, close), open));
+		this.skip(close + PLACEHOLDER_SUFFIX_LENGTH);
+	}
+	
+	private void style() {
+		final int open  = this.position;
+		final int close = this.indexOf(STYLE_SUFFIX, open + STYLE_PREFIX_LENGTH);
+		if(close == -1) {
+			this.reportTag(MessageDiagnostic.Kind.MISSING_STYLE_SUFFIX, open, open + STYLE_PREFIX_LENGTH, this.source.length(), null, null, STYLE_PREFIX_LENGTH);
+			return;
+		}
+		final int tagEnd = close + STYLE_SUFFIX_LENGTH;
+		if(!this.countTag(open, tagEnd - open)) return;
+		
+		final int dataStart = open + STYLE_PREFIX_LENGTH;
+		if(this.placeholdersEnabled && this.indexOfBefore(PLACEHOLDER_PREFIX, dataStart, close) != -1) {
+			this.reportTag(MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG, open, open, tagEnd, null, null, tagEnd - open);
+			return;
+		}
+		
+		@Nullable Message.Color            color       = null;
+		@NotNull  List<Message.Decoration> decorations = List.of();
+		if(!this.isReset(dataStart, close)) {
+			int from = dataStart;
+			while(from < close) {
+				final int separator = this.indexOfBefore(STYLE_SEPARATOR, from, close);
+				final int to        = separator == -1 ? close : separator;
+				final int next      = separator == -1 ? close : separator + STYLE_SEPARATOR.length();
+				if(to == from) {
+					from = next;
+					continue;
+				}
+				final int modifier = from;
+				from = next;
+				
+				final @Nullable Message.Color matchedColor = Message.Color.matchColor(this.source, modifier, to);
+				if(matchedColor != null) {
+					color = matchedColor;
+					continue;
+				}
+				
+				final @Nullable Message.Decoration decoration = Message.Decoration.matchDecoration(this.source, modifier, to);
+				if(decoration != null) {
+					if(!this.profile.isDecorationsAllowed()) {
+						this.reportTag(MessageDiagnostic.Kind.FORBIDDEN_STYLE_MODIFIER, open, open + STYLE_PREFIX_LENGTH, tagEnd, this.source.substring(modifier, to), null, tagEnd - open);
+						return;
+					}
+					if(decorations.isEmpty()) decorations = new ArrayList<>();
+					decorations.add(decoration);
+					continue;
+				}
+				
+				this.reportTag(MessageDiagnostic.Kind.UNKNOWN_STYLE_MODIFIER, open, open + STYLE_PREFIX_LENGTH, tagEnd, this.source.substring(modifier, to), null, tagEnd - open);
+				return;
+			}
+		}
+		
+		this.flush(open);
+		this.handler.style(color, decorations);
+		this.skip(tagEnd);
+	}
+	
+	/**
+	 * Returns true if the style data is empty or a single blank modifier, meaning the style tag resets the style.<br>
+	 * Empty modifiers between repeated separators are ignored.
+	 */
+	private boolean isReset(int from, int to) {
+		boolean seen = false;
+		while(from < to) {
+			final int separator = this.indexOfBefore(STYLE_SEPARATOR, from, to);
+			final int end       = separator == -1 ? to : separator;
+			if(end > from) {
+				if(seen) return false;
+				seen = true;
+				for(int i = from; i < end; i++) {
+					if(!Character.isWhitespace(this.source.charAt(i))) return false;
+				}
+			}
+			from = separator == -1 ? to : separator + STYLE_SEPARATOR.length();
+		}
+		return true;
+	}
+	
+	private void action() {
+		final int open      = this.position;
+		final int close     = this.indexOf(ACTION_SUFFIX, open + ACTION_PREFIX_LENGTH);
+		if(close == -1) {
+			this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_SUFFIX, open, open + ACTION_PREFIX_LENGTH, this.source.length(), null, null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		final int tagEnd = close + ACTION_SUFFIX_LENGTH;
+		if(!this.countTag(open, ACTION_PREFIX_LENGTH)) return;
+		if(this.actionDepth >= this.profile.getMaxDepth()) {
+			this.reportTag(MessageDiagnostic.Kind.DEPTH_LIMIT, open, open, tagEnd, String.valueOf(this.profile.getMaxDepth()), null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		final int separator = this.indexOfBefore(ACTION_SEPARATOR, open + ACTION_PREFIX_LENGTH, close);
+		if(separator == -1 || separator == open + ACTION_PREFIX_LENGTH) {
+			this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_PARAMETERS, open, open + ACTION_PREFIX_LENGTH, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		final int name = open + ACTION_PREFIX_LENGTH;
+		if(this.placeholdersEnabled && this.indexOfBefore(PLACEHOLDER_PREFIX, name, separator) != -1) {
+			this.reportTag(MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG, open, open, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		final @Nullable Message.Hover.Action hoverAction = Message.Hover.Action.matchHoverAction(this.source, name, separator);
+		if(hoverAction != null) {
+			switch(hoverAction) {
+				case SHOW_TEXT -> {
+					if(!this.source.startsWith(HOVER_CONTENT_PREFIX, separator + ACTION_SEPARATOR.length())) {
+						this.reportTag(MessageDiagnostic.Kind.MISSING_HOVER_PREFIX, open, open + ACTION_PREFIX_LENGTH, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+						return;
+					}
+					this.flush(open);
+					this.handler.beginHover();
+					this.hoverOpen  = open;
+					this.hoverStart = separator + ACTION_SEPARATOR.length() + HOVER_CONTENT_PREFIX_LENGTH;
+					this.skip(this.hoverStart);
+				}
+				case SHOW_ENTITY, SHOW_ITEM -> this.reportTag(MessageDiagnostic.Kind.UNSUPPORTED_ACTION, open, open + ACTION_PREFIX_LENGTH, tagEnd, this.source.substring(name, separator), null, ACTION_PREFIX_LENGTH);
+			}
+			return;
+		}
+		
+		final @Nullable Message.Click.Action clickAction = Message.Click.Action.matchClickAction(this.source, name, separator);
+		if(clickAction == null) {
+			this.reportTag(MessageDiagnostic.Kind.UNKNOWN_ACTION, open, open + ACTION_PREFIX_LENGTH, tagEnd, this.source.substring(name, separator), null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		final int valueStart = separator + ACTION_SEPARATOR.length();
+		if(this.placeholdersEnabled) {
+			this.clickTemplate(open, clickAction, valueStart);
+			return;
+		}
+		
+		final @NotNull String value = this.source.substring(valueStart, close);
+		if(value.isEmpty()) {
+			this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_PARAMETERS, open, open + ACTION_PREFIX_LENGTH, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		final @NotNull Message.Click<?> click;
+		try {
+			click = Message.Click.of(clickAction, value);
+		} catch(NumberFormatException ex) {
+			this.reportTag(MessageDiagnostic.Kind.INVALID_PAGE_NUMBER, open, open + ACTION_PREFIX_LENGTH, tagEnd, value, ex, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		this.flush(open);
+		this.handler.click(click);
+		this.openAction(close);
+	}
+	
+	/**
+	 * Reads a click value which may contain placeholders, the value ends on the first suffix outside a placeholder.
+	 */
+	private void clickTemplate(int open, @NotNull Message.Click.Action action, int valueStart) {
+		final @NotNull List<Object>  value = new ArrayList<>();
+		final @NotNull StringBuilder part  = new StringBuilder();
+		
+		int offset = valueStart;
+		while(true) {
+			if(offset >= this.source.length()) {
+				this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_SUFFIX, open, open + ACTION_PREFIX_LENGTH, offset, null, null, ACTION_PREFIX_LENGTH);
+				return;
+			}
+			if(this.source.startsWith(ACTION_SUFFIX, offset)) break;
+			
+			if(this.source.startsWith(ESCAPED_PLACEHOLDER_PREFIX, offset)) {
+				part.append(PLACEHOLDER_PREFIX);
+				offset += ESCAPED_PLACEHOLDER_PREFIX.length();
+				continue;
+			}
+			
+			final int placeholderClose =
+				this.source.startsWith(PLACEHOLDER_PREFIX, offset) ?
+				this.indexOf(PLACEHOLDER_SUFFIX, offset + PLACEHOLDER_PREFIX_LENGTH) :
+				-1;
+			if(placeholderClose != -1) {
+				if(part.length() > 0) value.add(part.toString());
+				part.setLength(0);
+				value.add(CompiledTemplate.Slot.of(this.source.substring(offset + PLACEHOLDER_PREFIX_LENGTH, placeholderClose), offset));
+				offset = placeholderClose + PLACEHOLDER_SUFFIX_LENGTH;
+				continue;
+			}
+			
+			part.append(this.source.charAt(offset));
+			offset++;
+		}
+		if(part.length() > 0) value.add(part.toString());
+		final int tagEnd = offset + ACTION_SUFFIX_LENGTH;
+		if(value.isEmpty()) {
+			this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_PARAMETERS, open, open + ACTION_PREFIX_LENGTH, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+			return;
+		}
+		
+		if(value.size() == 1 && value.get(0) instanceof String literal) {
+			final @NotNull Message.Click<?> click;
+			try {
+				click = Message.Click.of(action, literal);
+			} catch(NumberFormatException ex) {
+				this.reportTag(MessageDiagnostic.Kind.INVALID_PAGE_NUMBER, open, open + ACTION_PREFIX_LENGTH, tagEnd, literal, ex, ACTION_PREFIX_LENGTH);
+				return;
+			}
+			this.flush(open);
+			this.handler.click(click);
+		} else {
+			if(action == Message.Click.Action.CHANGE_PAGE) {
+				this.reportTag(MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG, open, open, tagEnd, null, null, ACTION_PREFIX_LENGTH);
+				return;
+			}
+			this.flush(open);
+			this.handler.click(action, value);
+		}
+		this.openAction(offset);
+	}
+	
+	/**
+	 * Counts a tag against the profile's limit.
+	 *
+	 * @param length length of the tag, treated as text if the limit is exceeded and the lexer recovers
+	 * @return true if the tag is within the limit
+	 */
+	private boolean countTag(int position, int length) {
+		if(++this.tags <= this.profile.getMaxTags()) return true;
+		this.reportTag(MessageDiagnostic.Kind.TAG_LIMIT, position, position, position + length, String.valueOf(this.profile.getMaxTags()), null, length);
+		return false;
+	}
+	
+	private void openAction(int close) {
+		if(this.actionDepth == this.actions.length) this.actions = Arrays.copyOf(this.actions, this.actions.length * 2);
+		this.actions[this.actionDepth++] = close;
+		this.skip(close + ACTION_SUFFIX_LENGTH);
+	}
+	
+	private void hoverEnd() {
+		final int hoverClose = this.position;
+		final int afterHover = hoverClose + HOVER_CONTENT_SUFFIX_LENGTH;
+		if(!this.source.startsWith(ACTION_SUFFIX, afterHover)) {
+			final int close = this.indexOf(ACTION_SUFFIX, afterHover);
+			if(close == -1) {
+				this.reportTag(MessageDiagnostic.Kind.MISSING_ACTION_SUFFIX, hoverClose, this.hoverOpen + ACTION_PREFIX_LENGTH, this.source.length(), null, null, HOVER_CONTENT_SUFFIX_LENGTH);
+			} else {
+				this.reportTag(MessageDiagnostic.Kind.UNEXPECTED_AFTER_HOVER, hoverClose, afterHover, close, this.source.substring(afterHover, close), null, HOVER_CONTENT_SUFFIX_LENGTH);
+			}
+			return;
+		}
+		
+		this.flush(hoverClose);
+		this.handler.endHover(this.hoverStart, hoverClose);
+		this.hoverOpen = -1;
+		this.openAction(afterHover);
+	}
+	
+	private void end() {
+		this.flush(this.position);
+		this.handler.end();
+		this.actionDepth--;
+		this.skip(this.position + ACTION_END_LENGTH);
+	}
+	
+	/**
+	 * Receives tokens in the order they appear in the source.
+	 */
+	interface Handler {
+		
+		/**
+		 * Ignores all tokens, for checking a source only.
+		 */
+		@NotNull Handler IGNORE = new Handler() {
+			
+			@Override
+			public void text(@NotNull String text) {}
+			
+			@Override
+			public void slot(@NotNull CompiledTemplate.Slot slot) {}
+			
+			@Override
+			public void style(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {}
+			
+			@Override
+			public void click(@NotNull Message.Click<?> click) {}
+			
+			@Override
+			public void click(@NotNull Message.Click.Action action, @NotNull List<Object> value) {}
+			
+			@Override
+			public void beginHover() {}
+			
+			@Override
+			public void endHover(int start, int end) {}
+			
+			@Override
+			public void end() {}
+			
+		};
+		
+		/**
+		 * Text with all escapes already stripped.
+		 */
+		void text(@NotNull String text);
+		
+		/**
+		 * A placeholder, reported only if the lexer was created with placeholders enabled.
+		 */
+		void slot(@NotNull CompiledTemplate.Slot slot);
+		
+		/**
+		 * A style tag, it replaces the previous style, a tag without any modifiers resets the style.
+		 */
+		void style(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations);
+		
+		/**
+		 * A click action tag, the following tokens up to the matching {@link #end()} are its body.
+		 */
+		void click(@NotNull Message.Click<?> click);
+		
+		/**
+		 * A click action tag with placeholders in its value, reported only if the lexer was created with placeholders enabled.
+		 *
+		 * @param value parts of the value, each either a string or a {@link CompiledTemplate.Slot}
+		 */
+		void click(@NotNull Message.Click.Action action, @NotNull List<Object> value);
+		
+		/**
+		 * A hover action tag, the following tokens up to {@link #endHover(int, int)} are the hover content,
+		 * then the tokens up to the matching {@link #end()} are its body.
+		 */
+		void beginHover();
+		
+		/**
+		 * The end of a hover's content.
+		 *
+		 * @param start start of the hover content in the source, inclusive
+		 * @param end   end of the hover content in the source, exclusive
+		 */
+		void endHover(int start, int end);
+		
+		/**
+		 * The end of the most recent action's body.
+		 */
+		void end();
+		
+	}
+	
+}
@@ -0,0 +1,46 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event of parsing a single message, disabled by default.<br>
+ * Enable <code>pl.blueflow.cobalt.MessageParse</code> in a recording to find messages responsible for slow ticks.
+ */
+@Name("pl.blueflow.cobalt.MessageParse")
+@Label("Message Parse")
+@Category({"Cobalt", "Messages"})
+@Description("A message parsed, with its placeholders already substituted")
+@Enabled(false)
+@StackTrace(false)
+final class MessageParseEvent extends Event {
+	
+	@Label("Source Length")
+	@DataAmount(DataAmount.BYTES)
+	int sourceLength;
+	
+	@Label("Segments")
+	@Description("Runs of text found by the parser, before coalescing")
+	int segments;
+	
+}
@@ -0,0 +1,48 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event of rendering a compiled template, disabled by default.
+ */
+@Name("pl.blueflow.cobalt.MessageRender")
+@Label("Message Render")
+@Category({"Cobalt", "Messages"})
+@Description("A compiled template rendered, with or without converting it")
+@Enabled(false)
+@StackTrace(false)
+final class MessageRenderEvent extends Event {
+	
+	@Label("Source Length")
+	@DataAmount(DataAmount.BYTES)
+	int sourceLength;
+	
+	@Label("Segments")
+	int segments;
+	
+	@Label("Cached")
+	@Description("Whether the result was rendered or converted before and reused")
+	boolean cached;
+	
+}
@@ -0,0 +1,71 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Receives a parsed message as it's being parsed, without any intermediate messages.<br>
+ * Every push is matched by exactly one {@link #pop()}, pushes nest like the tags in the source do.
+ * A style is always the innermost push and never has anything pushed on top of it,
+ * so text is affected by at most one style and by the innermost click and hover it's inside of.
+ *
+ * @param <R> the type of the result
+ */
+public interface MessageSink<R> {
+	
+	/**
+	 * Text with all escapes already stripped, never empty.
+	 */
+	void text(@NotNull String text);
+	
+	/**
+	 * Begins a style, a style without a color and decorations resets the style.
+	 */
+	void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations);
+	
+	void pushClick(@NotNull Message.Click<?> click);
+	
+	/**
+	 * Begins a hover showing the content collected by a sink from {@link #fork()}.
+	 */
+	void pushHover(@NotNull R content);
+	
+	/**
+	 * Ends the most recent push.
+	 */
+	void pop();
+	
+	/**
+	 * Creates an empty sink of the same kind, used to collect a hover's content.
+	 */
+	@NotNull MessageSink<R> fork();
+	
+	/**
+	 * Returns the result, called once after everything has been popped.
+	 */
+	@NotNull R result();
+	
+}
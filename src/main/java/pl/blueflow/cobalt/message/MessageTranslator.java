@@ -22,14 +22,17 @@
 package pl.blueflow.cobalt.message;
 
 import com.google.common.collect.Sets;
-import org.apache.commons.lang3.StringUtils;
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.commons.text.StringSubstitutor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  *
@@ -65,6 +68,8 @@ public class MessageTranslator {
 	protected static final @NotNull String ESCAPED_ACTION_PREFIX        = ACTION_ESCAPE + ACTION_PREFIX;
 	protected static final @NotNull String ESCAPED_HOVER_CONTENT_SUFFIX = HOVER_CONTENT_SUFFIX_ESCAPE + HOVER_CONTENT_SUFFIX;
 	
+	protected static final int PLACEHOLDER_PREFIX_LENGTH   = PLACEHOLDER_PREFIX.length();
+	protected static final int PLACEHOLDER_SUFFIX_LENGTH   = PLACEHOLDER_SUFFIX.length();
 	protected static final int STYLE_PREFIX_LENGTH         = STYLE_PREFIX.length();
 	protected static final int STYLE_SUFFIX_LENGTH         = STYLE_SUFFIX.length();
 	protected static final int ACTION_PREFIX_LENGTH        = ACTION_PREFIX.length();
@@ -74,69 +79,45 @@ public class MessageTranslator {
 	protected static final int HOVER_CONTENT_SUFFIX_LENGTH = HOVER_CONTENT_SUFFIX.length();
 	
 	/**
-	 * Looks for the nearest tag based on index only.
+	 * Maximum number of distinct hovers shared between compiled templates.
 	 */
-	protected static int nearestIndex(int a, int b) {
-		if(a < 0 && b < 0) return -1;
-		if(a < 0) return b;
-		if(b < 0) return a;
-		return Math.min(a, b);
-	}
+	protected static final int HOVER_CACHE_SIZE = 1024;
 	
-	protected static int nearestStyle(@NotNull String source, int offset) {
-		return indexOfUnescaped(source, STYLE_PREFIX, offset, STYLE_ESCAPE);
-	}
+	/**
+	 * Hovers without placeholders of all compiled templates, keyed by their source.
+	 */
+	private final @NotNull Map<String, CompiledTemplate> hovers = new ConcurrentHashMap<>();
 	
-	protected static int nearestAction(@NotNull String source, int offset) {
-		return indexOfUnescaped(source, ACTION_PREFIX, offset, ACTION_ESCAPE);
-	}
+	/**
+	 * Number of slots of the table of canonical fragments shared between compiled templates.
+	 */
+	protected static final int INTERNER_SIZE = 1 << 14;
 	
 	/**
-	 * Determines the nearest, unescaped instance of the searched string.
+	 * Canonical instances of the fragments of all compiled templates, see {@link CompiledTemplate.Builder}.
 	 */
-	protected static int indexOfUnescaped(@NotNull String source, @NotNull String search, int offset, char escape) {
-		int index;
-		while(true) {
-			index = source.indexOf(search, offset);
-			if(index > 0 && source.charAt(index - 1) == escape) {
-				offset = index + 1;
-				continue;
-			}
-			break;
-		}
-		return index;
-	}
+	private final @NotNull Interner interner = new Interner(INTERNER_SIZE);
 	
 	/**
-	 * Determines the nearest instance of the search string. Each match of skips will skip a single instance of the search string.
+	 * If set to true, adjacent texts with an equal style, click and hover are merged into one message
+	 * and styles without any text are dropped,<br>
+	 * defaults to true, may be changed dynamically.
 	 */
-	protected static int indexOfSkippable(@NotNull String source, @NotNull String search, int offset, @NotNull String skips, char skipsEscape) {
-		final int originalOffset = offset;
-		
-		int index;
-		int skip;
-		int skipAmount = 0;
-		while(true) {
-			skip = indexOfUnescaped(source, skips, offset, skipsEscape);
-			if(skip != -1) {
-				offset = skip + 1;
-				skipAmount++;
-				continue;
-			}
-			break;
-		}
-		offset = originalOffset;
-		while(true) {
-			index = source.indexOf(search, offset);
-			if(index > 0 && skipAmount > 0) {
-				offset = index + 1;
-				skipAmount--;
-				continue;
-			}
-			break;
-		}
-		return index;
-	}
+	@Getter
+	@Setter
+	private volatile boolean coalescing = true;
+	
+	/**
+	 * Timings and counters of this translator, see {@link TranslatorMetrics}.
+	 */
+	@Getter
+	private final @NotNull TranslatorMetrics metrics = new TranslatorMetrics();
+	
+	/**
+	 * Placeholders available to every message, below the ones passed with the message, see {@link PlaceholderProviders}.
+	 */
+	@Getter
+	private final @NotNull PlaceholderProviders providers = new PlaceholderProviders();
 	
 	/**
 	 * Strips the string of escape characters.
@@ -144,11 +125,7 @@ public class MessageTranslator {
 	@Contract("null -> null; !null -> !null")
 	protected static @Nullable String stripEscapes(@Nullable String content) {
 		if(content == null) return null;
-		return content
-			.replace(ESCAPED_PLACEHOLDER_PREFIX, PLACEHOLDER_PREFIX)
-			.replace(ESCAPED_STYLE_PREFIX, STYLE_PREFIX)
-			.replace(ESCAPED_ACTION_PREFIX, ACTION_PREFIX)
-			.replace(ACTION_END_ESCAPE, ACTION_END);
+		return unescape(content, ESCAPED_PLACEHOLDER_PREFIX, PLACEHOLDER_PREFIX, ESCAPED_STYLE_PREFIX, STYLE_PREFIX, ESCAPED_ACTION_PREFIX, ACTION_PREFIX, ACTION_END_ESCAPE, ACTION_END);
 	}
 	
 	/**
@@ -157,8 +134,33 @@ public class MessageTranslator {
 	@Contract("null -> null; !null -> !null")
 	protected static @Nullable String stripEscapesHover(@Nullable String content) {
 		if(content == null) return null;
-		return content
-			.replace(ESCAPED_HOVER_CONTENT_SUFFIX, HOVER_CONTENT_SUFFIX);
+		return unescape(content, ESCAPED_HOVER_CONTENT_SUFFIX, HOVER_CONTENT_SUFFIX);
+	}
+	
+	/**
+	 * Replaces the escapes in a single pass, the content is returned as it is if it has no escapes.
+	 *
+	 * @param replacements pairs of an escape and its replacement
+	 */
+	private static @NotNull String unescape(@NotNull String content, @NotNull String... replacements) {
+		@Nullable StringBuilder builder = null;
+		int runStart = 0;
+		int position = 0;
+		scan:
+		while(position < content.length()) {
+			for(int i = 0; i < replacements.length; i += 2) {
+				if(content.startsWith(replacements[i], position)) {
+					if(builder == null) builder = new StringBuilder(content.length());
+					builder.append(content, runStart, position).append(replacements[i + 1]);
+					position += replacements[i].length();
+					runStart = position;
+					continue scan;
+				}
+			}
+			position++;
+		}
+		if(builder == null) return content;
+		return builder.append(content, runStart, content.length()).toString();
 	}
 	
 	/**
@@ -180,6 +182,34 @@ public class MessageTranslator {
 			.replace(HOVER_CONTENT_SUFFIX, ESCAPED_HOVER_CONTENT_SUFFIX);
 	}
 	
+	/**
+	 * Compiles a message into a reusable template according to the language specifications.<br>
+	 * Unlike {@link #parse(String, Map)}, placeholders are not substituted before parsing, they are bound as slots
+	 * that are filled on every {@link CompiledTemplate#render(Map)} without parsing the message again.
+	 * Placeholder values are inserted literally and are never parsed as tags.<br>
+	 * Placeholders may appear in text, click values and hover text, but not inside style tags or action names.
+	 * Hovers without placeholders are shared between all templates of this translator using the same hover content.
+	 *
+	 * @param message the message to compile
+	 * @throws MessageFormattingException if the message is improperly formatted
+	 */
+	public @NotNull CompiledTemplate compile(@NotNull String message) {
+		final @NotNull String source = message.trim();
+		final long start = this.metrics.start();
+		final @NotNull CompiledTemplate.Builder builder = new CompiledTemplate.Builder(
+			source,
+			this.hovers,
+			HOVER_CACHE_SIZE,
+			this.coalescing ? this.metrics.coalesced : null,
+			this.interner,
+			this.metrics
+		);
+		new MessageLexer(source, builder, ParseProfile.TRUSTED, true, null).lex();
+		final @NotNull CompiledTemplate template = builder.build();
+		this.metrics.record(TranslatorMetrics.Stage.COMPILE, start);
+		return template;
+	}
+	
 	protected @NotNull List<Message> parse(@NotNull String message) {
 		return this.parse(message, Collections.emptyMap());
 	}
@@ -192,219 +222,234 @@ public class MessageTranslator {
 	 * Parse a string to a list of messages according to the language specifications.
 	 *
 	 * @param message   the message to parse
-	 * @param context   placeholders
+	 * @param context   placeholders, {@link java.util.function.Supplier} values are computed only if the message references them
 	 * @param with      a consumer to accept for all builders that the parser will create, the consumer is accepted after the parser completed its builder setup
 	 * @param flagArray flags to modify the parser's behavior, note this method exists only for internal handling and the flags passed won't be passed to sub-parsers
 	 */
 	protected @NotNull List<Message> parse(@NotNull String message, @NotNull Map<String, Object> context, @Nullable Consumer<Message.MessageBuilder> with, @NotNull Flag... flagArray) {
-		final @NotNull String source = this.getSubstitutor(context).replace(message.trim());
-		if(source.isBlank()) return Message.empty();
-		final @NotNull Set<Flag> flags = Flag.toSet(flagArray);
-		
-		final @NotNull List<Message> messages = new ArrayList<>();
-		
-		final boolean stylesDisabled  = flags.contains(Flag.DISABLE_STYLES);
-		final boolean actionsDisabled = flags.contains(Flag.DISABLE_ACTIONS);
-		
-		int nextStyle  = stylesDisabled ? -1 : nearestStyle(source, 0);
-		int nextAction = actionsDisabled ? -1 : nearestAction(source, 0);
-		
-		final int nearestTag = nearestIndex(nextStyle, nextAction);
-		if(nearestTag == -1) {
-			final @NotNull Message.MessageBuilder builder = Message
-				.builder()
-				.content(stripEscapes(source));
-			if(with != null) with.accept(builder);
-			return List.of(builder.build());
-		}
-		if(nearestTag > 0) {
-			final @NotNull Message.MessageBuilder builder = Message
-				.builder()
-				.content(stripEscapes(source.substring(0, nearestTag)));
-			if(with != null) with.accept(builder);
-			messages.add(builder.build());
-		}
-		
-		int     nextLookup    = 0;
-		boolean lastWasAction = false;
-		while(true) {
-			if((nextAction == -1 || nextStyle < nextAction) && nextStyle != -1) {
-				final int open  = nextStyle;
-				final int close = source.indexOf(STYLE_SUFFIX, open + STYLE_PREFIX_LENGTH);
-				if(close == -1) throw this.generateMissingStyleSuffixException(source, open);
-				final @NotNull String[] data = StringUtils.split(source.substring(open + STYLE_PREFIX_LENGTH, close), STYLE_SEPARATOR);
-				
-				nextLookup = close + STYLE_SUFFIX_LENGTH;
-				nextStyle  = nearestStyle(source, nextLookup);
-				nextAction = actionsDisabled ? -1 : nearestAction(source, nextLookup);
-				
-				final int contentEnd = nearestIndex(nextStyle, nextAction);
-				final @NotNull Message.MessageBuilder builder = Message
-					.builder()
-					.content(stripEscapes(source.substring(nextLookup, contentEnd == -1 ? source.length() : contentEnd)));
-				
-				if(data.length == 1 && data[0].isBlank()) {
-					messages.add(builder.build());
-					continue;
-				}
-				
-				for(final @NotNull String modifier : data) {
-					final @Nullable Message.Color color = Message.Color.matchColor(modifier);
-					if(color != null) {
-						builder.color(color);
-						continue;
-					}
-					
-					final @Nullable Message.Decoration decoration = Message.Decoration.matchDecoration(modifier);
-					if(decoration != null) {
-						builder.decorate(decoration);
-						continue;
-					}
-					
-					throw this.generateUnknownStyleModifierException(source, open, modifier);
-				}
-				
-				if(with != null) with.accept(builder);
-				messages.add(builder.build());
-				lastWasAction = false;
-				continue;
-			}
-			
-			if((nextStyle == -1 || nextAction < nextStyle) && nextAction != -1) {
-				final int open = nextAction;
-				
-				final int hoverOpen = source.indexOf(HOVER_CONTENT_PREFIX, open + ACTION_PREFIX_LENGTH);
-				final int hoverClose =
-					hoverOpen == -1 ?
-					-1 :
-					indexOfUnescaped(source, HOVER_CONTENT_SUFFIX, hoverOpen + HOVER_CONTENT_PREFIX_LENGTH, HOVER_CONTENT_SUFFIX_ESCAPE);
-				
-				final int close = source.indexOf(ACTION_SUFFIX, hoverClose == -1 ? open + ACTION_PREFIX_LENGTH : hoverClose + HOVER_CONTENT_SUFFIX_LENGTH);
-				if(close == -1) throw this.generateMissingActionSuffixException(source, open);
-				final int end = indexOfSkippable(source, ACTION_END, close + ACTION_SUFFIX_LENGTH, ACTION_PREFIX, ACTION_ESCAPE);
-				if(end == -1) throw this.generateMissingActionEndException(source, close);
-				
-				final @NotNull String[] data = StringUtils.split(source.substring(open + ACTION_PREFIX_LENGTH, close), ACTION_SEPARATOR, 2);
-				if(data.length != 2) throw this.generateMissingActionParametersException(source, open);
-				
-				nextLookup = end + ACTION_END_LENGTH;
-				nextStyle  = stylesDisabled ? -1 : nearestStyle(source, nextLookup);
-				nextAction = nearestAction(source, nextLookup);
-				
-				final @Nullable Message.Click.Action clickAction = Message.Click.Action.matchClickAction(data[0]);
-				final @Nullable Message.Click<?> clickEvent =
-					clickAction == null ? null :
-					switch(clickAction) {
-						case CHANGE_PAGE -> {
-							try {
-								yield Message.Click.changePage(Integer.parseInt(data[1]));
-							} catch(NumberFormatException ex) {
-								throw this.generateActionPageNumberFormatException(source, open, data[1], ex);
-							}
-						}
-						case COPY_TO_CLIPBOARD -> Message.Click.copyToClipboard(data[1]);
-						case OPEN_URL -> Message.Click.openUrl(data[1]);
-						case OPEN_FILE -> Message.Click.openFile(data[1]);
-						case RUN_COMMAND -> Message.Click.runCommand(data[1]);
-						case SUGGEST_COMMAND -> Message.Click.suggestCommand(data[1]);
-					};
-				
-				final @Nullable Message.Hover.Action hoverAction = Message.Hover.Action.matchHoverAction(data[0]);
-				final @Nullable Message.Hover<?> hoverEvent =
-					hoverAction == null ? null :
-					switch(hoverAction) {
-						case SHOW_TEXT -> {
-							if(hoverOpen == -1) throw this.generateMissingActionHoverPrefix(source, open);
-							if(hoverClose == -1) throw this.generateMissingActionHoverSuffix(source, open);
-							if(hoverClose + 1 != close) throw this.generateUnknownActionHoverPost(source, hoverClose, close);
-							
-							yield Message.Hover.showText(
-								this.parse(
-									source.substring(hoverOpen + HOVER_CONTENT_PREFIX_LENGTH, hoverClose),
-									context,
-									builder -> builder.content(stripEscapesHover(builder.content())),
-									Flag.DISABLE_ACTIONS
-								)
-							);
-						}
-						case SHOW_ENTITY, SHOW_ITEM -> throw new UnsupportedOperationException();
-					};
-				
-				messages.addAll(
-					this.parse(
-						stripEscapes(source.substring(close + ACTION_SUFFIX_LENGTH, end)),
-						context,
-						(builder) -> {
-							if(with != null) with.accept(builder);
-							if(clickEvent != null) builder.clickEvent(clickEvent);
-							if(hoverEvent != null) builder.hoverEvent(hoverEvent);
-						}
-					)
-				);
-				
-				lastWasAction = true;
-				continue;
-			}
-			
-			break;
-		}
+		return this.parseSubstituted(this.substitute(message, context), with, flagArray);
+	}
+	
+	/**
+	 * Substitutes the placeholders of a trimmed message, timed as {@link TranslatorMetrics.Stage#SUBSTITUTION}.
+	 */
+	private @NotNull String substitute(@NotNull String message, @NotNull Map<String, Object> context) {
+		final long start = this.metrics.start();
+		final @NotNull String substituted = this.getSubstitutor(context).replace(message.trim());
+		this.metrics.record(TranslatorMetrics.Stage.SUBSTITUTION, start);
+		return substituted;
+	}
+	
+	/**
+	 * Parse an already substituted string, placeholders found inside are treated as plain text.
+	 *
+	 * @see #parse(String, Map, Consumer, Flag...)
+	 */
+	protected @NotNull List<Message> parseSubstituted(@NotNull String source, @Nullable Consumer<Message.MessageBuilder> with, @NotNull Flag... flagArray) {
+		return Objects.requireNonNull(this.parseSubstituted(source, new MessageCollector(with), ParseProfile.of(flagArray), null));
+	}
+	
+	/**
+	 * Parse a string straight into a sink according to the language specifications, no messages are created on the way.
+	 *
+	 * @param message   the message to parse
+	 * @param context   placeholders
+	 * @param sink      the sink to drive
+	 * @param flagArray flags to modify the parser's behavior
+	 * @return the sink's result
+	 */
+	protected <R> @NotNull R parseInto(@NotNull String message, @NotNull Map<String, Object> context, @NotNull MessageSink<R> sink, @NotNull Flag... flagArray) {
+		return Objects.requireNonNull(this.parseSubstituted(this.substitute(message, context), sink, ParseProfile.of(flagArray), null));
+	}
+	
+	/**
+	 * Parse a message coming from a player, e.g. a chat message or a sign's line.<br>
+	 * Placeholders are never substituted and only the profile's subset of the language is recognized,
+	 * parsing takes time linear in the message's length and stops as soon as a limit of the profile is exceeded.
+	 *
+	 * @param message the message to parse
+	 * @param profile the allowed subset of the language and its limits
+	 * @throws MessageFormattingException if the message is improperly formatted or exceeds the profile's limits
+	 */
+	protected @NotNull List<Message> parseUntrusted(@NotNull String message, @NotNull ParseProfile profile) {
+		return this.parseUntrustedInto(message, profile, new MessageCollector(null));
+	}
+	
+	/**
+	 * Same as {@link #parseUntrusted(String, ParseProfile)}, but parses straight into a sink.
+	 *
+	 * @return the sink's result
+	 */
+	protected <R> @NotNull R parseUntrustedInto(@NotNull String message, @NotNull ParseProfile profile, @NotNull MessageSink<R> sink) {
+		return Objects.requireNonNull(this.parseSubstituted(message.trim(), sink, profile, null));
+	}
+	
+	/**
+	 * @param diagnostics the list to add found problems to instead of throwing them
+	 * @return the sink's result, null if a problem was found and the profile isn't lenient
+	 */
+	private <R> @Nullable R parseSubstituted(@NotNull String source, @NotNull MessageSink<R> sink, @NotNull ParseProfile profile, @Nullable List<MessageDiagnostic> diagnostics) {
+		if(source.isBlank()) return sink.result();
 		
-		if(lastWasAction && nextLookup < source.length()) {
-			final @NotNull Message.MessageBuilder builder = Message.builder().content(stripEscapes(source.substring(nextLookup)));
-			if(with != null) with.accept(builder);
-			messages.add(builder.build());
+		final @NotNull MessageParseEvent event = new MessageParseEvent();
+		event.begin();
+		final long start = this.metrics.start();
+		final @NotNull SinkHandler<R> handler = new SinkHandler<>(this.coalescing ? new CoalescingSink<>(sink, this.metrics.coalesced) : sink);
+		if(!new MessageLexer(source, handler, profile, false, diagnostics).lex()) return null;
+		final @NotNull R result = handler.finish();
+		this.metrics.record(TranslatorMetrics.Stage.PARSE, start);
+		if(event.shouldCommit()) {
+			event.sourceLength = source.length();
+			event.segments     = handler.getSegments();
+			event.commit();
 		}
-		
-		return Collections.unmodifiableList(messages);
+		return result;
 	}
 	
-	private @NotNull MessageFormattingException generateMissingStyleSuffixException(@NotNull String source, int position) {
-		return new MessageFormattingException(source, position + STYLE_PREFIX_LENGTH, "style tag missing a close brace");
+	/**
+	 * Renders a template, timed as {@link TranslatorMetrics.Stage#RENDER}.
+	 *
+	 * @param context placeholders, null if there are none
+	 */
+	protected @NotNull List<Message> render(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		final long start = this.metrics.start();
+		final @NotNull List<Message> messages = template.render(this.providers.over(context != null ? context : Collections.emptyMap()));
+		this.metrics.record(TranslatorMetrics.Stage.RENDER, start);
+		return messages;
 	}
 	
-	private @NotNull MessageFormattingException generateUnknownStyleModifierException(@NotNull String source, int position, @NotNull String modifier) {
-		return new MessageFormattingException(source, position + STYLE_PREFIX_LENGTH, String.format("style tag contains an unrecognized modifier '%s'", modifier));
+	/**
+	 * Renders a template with the values of a placeholder context, timed as {@link TranslatorMetrics.Stage#RENDER}.<br>
+	 * Placeholders the context doesn't set are looked up in the {@link #providers}.
+	 */
+	protected @NotNull List<Message> render(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		final long start = this.metrics.start();
+		final @NotNull List<Message> messages = template.render(context, this.providers);
+		this.metrics.record(TranslatorMetrics.Stage.RENDER, start);
+		return messages;
 	}
 	
-	private @NotNull MessageFormattingException generateMissingActionSuffixException(@NotNull String source, int position) {
-		return new MessageFormattingException(source, position + ACTION_PREFIX_LENGTH, "action tag missing a close brace");
+	/**
+	 * Converts messages into the platform's representation, timed as {@link TranslatorMetrics.Stage#CONVERSION}.
+	 */
+	protected <T> @NotNull T convert(@NotNull List<Message> messages, @NotNull Function<List<Message>, T> converter) {
+		final long start = this.metrics.start();
+		final @NotNull T converted = converter.apply(messages);
+		this.metrics.record(TranslatorMetrics.Stage.CONVERSION, start);
+		return converted;
 	}
 	
-	private @NotNull MessageFormattingException generateMissingActionEndException(@NotNull String source, int position) {
-		return new MessageFormattingException(source, position + ACTION_SUFFIX_LENGTH, "action tag is missing an end branch");
+	/**
+	 * Parse a string to a list of messages without ever throwing, problems are returned as diagnostics instead.<br>
+	 * With a lenient profile undefined placeholders and broken tags are kept as text and the messages are always available.
+	 * Placeholders missing from the context are looked up in the {@link #providers}, the same way {@link #parse(String, Map)} does.
+	 *
+	 * @param message the message to parse
+	 * @param context placeholders
+	 * @param profile the allowed subset of the language and its limits
+	 */
+	public @NotNull ParseResult tryParse(@NotNull String message, @NotNull Map<String, Object> context, @NotNull ParseProfile profile) {
+		final @NotNull List<MessageDiagnostic> diagnostics = new ArrayList<>();
+		final @NotNull String                  source      = message.trim();
+		final @NotNull Map<String, Object>     provided    = this.providers.over(context);
+		
+		findUndefinedPlaceholders(source, provided, diagnostics);
+		if(!diagnostics.isEmpty() && !profile.isLenient()) return new ParseResult(null, diagnostics);
+		
+		final @Nullable List<Message> messages = this.parseSubstituted(this.getSubstitutor(provided, false).replace(source), new MessageCollector(null), profile, diagnostics);
+		return new ParseResult(messages, diagnostics);
 	}
 	
-	private @NotNull MessageFormattingException generateMissingActionParametersException(@NotNull String source, int position) {
-		return new MessageFormattingException(source, position + ACTION_PREFIX_LENGTH, "action tag is missing parameters");
+	/**
+	 * Checks a message against the language specifications without building any messages, never throws.<br>
+	 * Placeholders are not substituted, only the message's own tags are checked.
+	 *
+	 * @param message the message to check
+	 * @param profile the allowed subset of the language and its limits
+	 * @return problems found, only the first one unless the profile is lenient
+	 */
+	public @NotNull List<MessageDiagnostic> validate(@NotNull String message, @NotNull ParseProfile profile) {
+		final @NotNull List<MessageDiagnostic> diagnostics = new ArrayList<>();
+		new MessageLexer(message.trim(), MessageLexer.Handler.IGNORE, profile, false, diagnostics).lex();
+		return diagnostics;
 	}
 	
-	private @NotNull MessageFormattingException generateActionPageNumberFormatException(@NotNull String source, int position, @NotNull String tried, @NotNull Throwable cause) {
-		return new MessageFormattingException(source, position + ACTION_PREFIX_LENGTH, String.format("unrecognized number in page change '%s'", tried), cause);
+	/**
+	 * Checks a message the way {@link #compile(String)} reads it, never throws.<br>
+	 * Placeholders are bound as slots, ones inside tags are reported as {@link MessageDiagnostic.Kind#PLACEHOLDER_IN_TAG}
+	 * and the rest of such a tag is skipped, since it can only be checked once the values are substituted.
+	 *
+	 * @param message the message to check
+	 * @param profile the allowed subset of the language and its limits
+	 * @return problems found, only the first one unless the profile is lenient
+	 */
+	public @NotNull List<MessageDiagnostic> validateTemplate(@NotNull String message, @NotNull ParseProfile profile) {
+		final @NotNull List<MessageDiagnostic> diagnostics = new ArrayList<>();
+		new MessageLexer(message.trim(), MessageLexer.Handler.IGNORE, profile, true, diagnostics).lex();
+		return diagnostics;
 	}
 	
-	private @NotNull MessageFormattingException generateMissingActionHoverPrefix(String source, int position) {
-		return new MessageFormattingException(source, position + ACTION_PREFIX_LENGTH, "action tag is missing hover parenthesis open");
+	/**
+	 * Adds a diagnostic for every unescaped placeholder which has no default value and isn't defined in the context.
+	 *
+	 * @param context placeholders over the provided values, see {@link PlaceholderProviders#over(Map)}
+	 */
+	private static void findUndefinedPlaceholders(@NotNull String source, @NotNull Map<String, Object> context, @NotNull List<MessageDiagnostic> diagnostics) {
+		int open = source.indexOf(PLACEHOLDER_PREFIX);
+		while(open != -1) {
+			if(open > 0 && source.charAt(open - 1) == PLACEHOLDER_ESCAPE) {
+				open = source.indexOf(PLACEHOLDER_PREFIX, open + PLACEHOLDER_PREFIX_LENGTH);
+				continue;
+			}
+			final int close = source.indexOf(PLACEHOLDER_SUFFIX, open + PLACEHOLDER_PREFIX_LENGTH);
+			if(close == -1) return;
+			
+			// Names aren't bound to keys here, the message may come from a player.
+			final @NotNull String name = source.substring(open + PLACEHOLDER_PREFIX_LENGTH, close);
+			if(!name.contains(PLACEHOLDER_VALUE_DELIMITER) && context.get(name) == null) {
+				diagnostics.add(new MessageDiagnostic(MessageDiagnostic.Kind.UNDEFINED_PLACEHOLDER, source, open, open, close + PLACEHOLDER_SUFFIX_LENGTH, name));
+			}
+			open = source.indexOf(PLACEHOLDER_PREFIX, close + PLACEHOLDER_SUFFIX_LENGTH);
+		}
 	}
 	
-	private @NotNull MessageFormattingException generateMissingActionHoverSuffix(String source, int position) {
-		return new MessageFormattingException(source, position + ACTION_PREFIX_LENGTH, "action tag is missing hover parenthesis close");
+	/**
+	 * Returns the number of messages removed by coalescing since the translator was created, see {@link #setCoalescing(boolean)}.
+	 *
+	 * @see TranslatorMetrics#getCoalescedMessages()
+	 */
+	public long getCoalescedMessages() {
+		return this.metrics.getCoalescedMessages();
 	}
 	
-	private @NotNull MessageFormattingException generateUnknownActionHoverPost(String source, int hoverCloseAt, int closeAt) {
-		return new MessageFormattingException(source, hoverCloseAt + HOVER_CONTENT_SUFFIX_LENGTH,
-		                                      String.format("action tag must end immediately after hover parenthesis close, expected '%s' got '%s'",
-		                                                    ACTION_SUFFIX,
-		                                                    source.substring(hoverCloseAt + HOVER_CONTENT_SUFFIX_LENGTH, closeAt)
-		                                      ));
+	public @NotNull StringSubstitutor getSubstitutor(@NotNull Map<String, Object> context) {
+		return this.getSubstitutor(context, THROW_ON_UNDEFINED_PLACEHOLDER);
 	}
 	
-	public @NotNull StringSubstitutor getSubstitutor(@NotNull Map<String, Object> context) {
-		return new StringSubstitutor(Collections.unmodifiableMap(context))
+	/**
+	 * Values which are {@link java.util.function.Supplier}s are computed only if a substituted message references them,
+	 * at most once per substitutor. Placeholders missing from the context are looked up in the {@link #providers}.
+	 *
+	 * @param throwOnUndefined whether undefined placeholders throw, otherwise they're left as they are
+	 */
+	public @NotNull StringSubstitutor getSubstitutor(@NotNull Map<String, Object> context, boolean throwOnUndefined) {
+		return this.getSubstitutor(new LazyContext(this.providers.over(context)), throwOnUndefined);
+	}
+	
+	/**
+	 * Same as {@link #getSubstitutor(Map, boolean)}, but with the values of a placeholder context.
+	 */
+	public @NotNull StringSubstitutor getSubstitutor(@NotNull PlaceholderContext context, boolean throwOnUndefined) {
+		return this.getSubstitutor(new LazyContext(context, this.providers), throwOnUndefined);
+	}
+	
+	private @NotNull StringSubstitutor getSubstitutor(@NotNull LazyContext context, boolean throwOnUndefined) {
+		return new StringSubstitutor(context::lookup)
 			.setVariablePrefix(PLACEHOLDER_PREFIX)
 			.setVariableSuffix(PLACEHOLDER_SUFFIX)
 			.setValueDelimiter(PLACEHOLDER_VALUE_DELIMITER)
 			.setEscapeChar(PLACEHOLDER_ESCAPE)
-			.setEnableUndefinedVariableException(THROW_ON_UNDEFINED_PLACEHOLDER);
+			.setEnableUndefinedVariableException(throwOnUndefined);
 	}
 	
 	public enum Flag {
@@ -0,0 +1,121 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The subset of the language a message may use and the limits it must stay within.<br>
+ * Profiles are immutable, build them once and reuse them, e.g. for every chat message of a player.
+ */
+@Getter
+@Builder
+@ToString
+public final class ParseProfile {
+	
+	/**
+	 * The whole language without any limits, used for messages coming from configuration.
+	 */
+	public static final @NotNull ParseProfile TRUSTED = ParseProfile.builder().build();
+	
+	/**
+	 * Colors only, for player chat and signs, broken or disallowed tags are kept as text.
+	 */
+	public static final @NotNull ParseProfile CHAT = ParseProfile
+		.builder()
+		.lenient(true)
+		.decorationsAllowed(false)
+		.actionsAllowed(false)
+		.maxLength(256)
+		.maxTags(16)
+		.maxDepth(0)
+		.build();
+	
+	/**
+	 * Plain text only, every tag is treated as text.
+	 */
+	public static final @NotNull ParseProfile PLAIN = ParseProfile
+		.builder()
+		.lenient(true)
+		.stylesAllowed(false)
+		.actionsAllowed(false)
+		.maxLength(256)
+		.maxTags(0)
+		.maxDepth(0)
+		.build();
+	
+	/**
+	 * Trusted profiles for every combination of {@link MessageTranslator.Flag}, indexed by the flags' ordinal bits.
+	 */
+	private static final @NotNull ParseProfile[] FLAGGED = {
+		TRUSTED,
+		ParseProfile.builder().stylesAllowed(false).build(),
+		ParseProfile.builder().actionsAllowed(false).build(),
+		ParseProfile.builder().stylesAllowed(false).actionsAllowed(false).build()
+	};
+	
+	@Builder.Default
+	private final boolean stylesAllowed      = true;
+	@Builder.Default
+	private final boolean decorationsAllowed = true;
+	@Builder.Default
+	private final boolean actionsAllowed     = true;
+	
+	/**
+	 * Whether broken tags are kept as text instead of failing the whole message, unclosed actions are closed at the end.
+	 */
+	@Builder.Default
+	private final boolean lenient = false;
+	
+	/**
+	 * Maximum length of the source in characters.
+	 */
+	@Builder.Default
+	private final int maxLength = Integer.MAX_VALUE;
+	
+	/**
+	 * Maximum number of style and action tags in the source.
+	 */
+	@Builder.Default
+	private final int maxTags = Integer.MAX_VALUE;
+	
+	/**
+	 * Maximum number of actions open at the same time, one disallows nesting.
+	 */
+	@Builder.Default
+	private final int maxDepth = Integer.MAX_VALUE;
+	
+	/**
+	 * Returns the precomputed trusted profile with the flags' parts of the language disabled.
+	 */
+	public static @NotNull ParseProfile of(@NotNull MessageTranslator.Flag... flags) {
+		int index = 0;
+		for(final @NotNull MessageTranslator.Flag flag : flags) {
+			index |= 1 << flag.ordinal();
+		}
+		return FLAGGED[index];
+	}
+	
+}
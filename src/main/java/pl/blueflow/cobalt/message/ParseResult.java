@@ -0,0 +1,62 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link MessageTranslator#tryParse(String, java.util.Map, ParseProfile)}.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@ToString
+public final class ParseResult {
+	
+	/**
+	 * The parsed messages, null if the message couldn't be parsed.
+	 */
+	private final @Nullable List<Message> messages;
+	
+	/**
+	 * Problems found in the message, with a lenient profile the messages are available even if there are some.
+	 */
+	private final @NotNull List<MessageDiagnostic> diagnostics;
+	
+	public boolean isParsed() {
+		return this.messages != null;
+	}
+	
+	/**
+	 * Returns true if the message was parsed without any problems.
+	 */
+	public boolean isValid() {
+		return this.messages != null && this.diagnostics.isEmpty();
+	}
+	
+}
@@ -0,0 +1,183 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Placeholder values indexed by their {@link PlaceholderKey}, filled by a caller and read by compiled templates without hashing any names.<br>
+ * Numbers set through the primitive setters are kept unboxed and written into the rendered text directly.
+ * A value which is a {@link Supplier} is computed only once a template references it, and at most once per context.
+ * Contexts are mutable and not thread-safe, create one for every message, e.g. <code>new PlaceholderContext().setInt(AMOUNT, 12)</code>.
+ */
+public final class PlaceholderContext {
+	
+	private static final byte UNSET  = 0;
+	private static final byte OBJECT = 1;
+	private static final byte LAZY   = 2;
+	private static final byte INT    = 3;
+	private static final byte LONG   = 4;
+	private static final byte DOUBLE = 5;
+	
+	private static final int INITIAL_CAPACITY = 8;
+	
+	private @NotNull byte[]   kinds;
+	private @NotNull Object[] objects;
+	
+	/**
+	 * Values of the primitive kinds, doubles as their raw bits.
+	 */
+	private @NotNull long[] primitives;
+	
+	/**
+	 * Creates an empty context with a small capacity, it grows once a key with a larger index is set.
+	 */
+	public PlaceholderContext() {
+		this.kinds      = new byte[INITIAL_CAPACITY];
+		this.objects    = new Object[INITIAL_CAPACITY];
+		this.primitives = new long[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Creates a context with the map's values, for callers still passing maps.<br>
+	 * Only names which already have a key are set, e.g. the placeholders of compiled templates,
+	 * other names couldn't be referenced by any template and aren't interned.
+	 */
+	public static @NotNull PlaceholderContext of(@NotNull Map<String, ?> values) {
+		final @NotNull PlaceholderContext context = new PlaceholderContext();
+		values.forEach((name, value) -> {
+			final @Nullable PlaceholderKey<?> key = PlaceholderKey.find(name);
+			if(key != null) context.setObject(key, value);
+		});
+		return context;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void setObject(@NotNull PlaceholderKey<?> key, @Nullable Object value) {
+		this.set((PlaceholderKey<Object>) key, value);
+	}
+	
+	private int slot(@NotNull PlaceholderKey<?> key) {
+		final int index = key.getIndex();
+		if(index >= this.kinds.length) {
+			final int size = Math.max(index + 1, this.kinds.length * 2);
+			this.kinds      = Arrays.copyOf(this.kinds, size);
+			this.objects    = Arrays.copyOf(this.objects, size);
+			this.primitives = Arrays.copyOf(this.primitives, size);
+		}
+		return index;
+	}
+	
+	/**
+	 * Sets the value, null unsets it.<br>
+	 * A value which is a {@link Supplier} is computed once referenced, the same way as in placeholder maps.
+	 */
+	public <T> @NotNull PlaceholderContext set(@NotNull PlaceholderKey<T> key, @Nullable T value) {
+		final int index = this.slot(key);
+		this.kinds[index]   = value == null ? UNSET : value instanceof Supplier<?> ? LAZY : OBJECT;
+		this.objects[index] = value;
+		return this;
+	}
+	
+	/**
+	 * Sets the value to be computed once a template references it.
+	 */
+	public <T> @NotNull PlaceholderContext setLazy(@NotNull PlaceholderKey<T> key, @NotNull Supplier<? extends T> value) {
+		final int index = this.slot(key);
+		this.kinds[index]   = LAZY;
+		this.objects[index] = value;
+		return this;
+	}
+	
+	public @NotNull PlaceholderContext setInt(@NotNull PlaceholderKey<Integer> key, int value) {
+		return this.setPrimitive(key, INT, value);
+	}
+	
+	public @NotNull PlaceholderContext setLong(@NotNull PlaceholderKey<Long> key, long value) {
+		return this.setPrimitive(key, LONG, value);
+	}
+	
+	public @NotNull PlaceholderContext setDouble(@NotNull PlaceholderKey<Double> key, double value) {
+		return this.setPrimitive(key, DOUBLE, Double.doubleToRawLongBits(value));
+	}
+	
+	private @NotNull PlaceholderContext setPrimitive(@NotNull PlaceholderKey<?> key, byte kind, long value) {
+		final int index = this.slot(key);
+		this.kinds[index]      = kind;
+		this.objects[index]    = null;
+		this.primitives[index] = value;
+		return this;
+	}
+	
+	/**
+	 * Returns the value, boxed if it's a primitive and computed if it's lazy, or null if it isn't set.
+	 */
+	public @Nullable Object get(@NotNull PlaceholderKey<?> key) {
+		final int index = key.getIndex();
+		if(index >= this.kinds.length) return null;
+		return switch(this.kinds[index]) {
+			case OBJECT -> this.objects[index];
+			case LAZY -> this.compute(index);
+			case INT -> (int) this.primitives[index];
+			case LONG -> this.primitives[index];
+			case DOUBLE -> Double.longBitsToDouble(this.primitives[index]);
+			default -> null;
+		};
+	}
+	
+	private @Nullable Object compute(int index) {
+		final @Nullable Object value = ((Supplier<?>) this.objects[index]).get();
+		this.kinds[index]   = value == null ? UNSET : OBJECT;
+		this.objects[index] = value;
+		return value;
+	}
+	
+	/**
+	 * Appends the value of the key with the index, primitives without boxing them.
+	 *
+	 * @return false if the value isn't set, nothing is appended then
+	 */
+	boolean appendTo(@NotNull StringBuilder builder, int index) {
+		if(index >= this.kinds.length) return false;
+		switch(this.kinds[index]) {
+			case OBJECT -> builder.append(this.objects[index]);
+			case LAZY -> {
+				final @Nullable Object value = this.compute(index);
+				if(value == null) return false;
+				builder.append(value);
+			}
+			case INT -> builder.append((int) this.primitives[index]);
+			case LONG -> builder.append(this.primitives[index]);
+			case DOUBLE -> builder.append(Double.longBitsToDouble(this.primitives[index]));
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+}
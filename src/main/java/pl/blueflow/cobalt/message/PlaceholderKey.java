@@ -0,0 +1,74 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An interned placeholder name bound to a small index, every key of a name is the same instance.<br>
+ * Compiled templates bind their placeholders to keys once, so a {@link PlaceholderContext} is read by index rather than by hashing names.
+ * Keys are never forgotten, they're meant for names fixed in code and configuration, not for names coming from players.
+ *
+ * @param <T> the type of the placeholder's values
+ */
+@Getter
+public final class PlaceholderKey<T> {
+	
+	private static final @NotNull Map<String, PlaceholderKey<?>> KEYS  = new ConcurrentHashMap<>();
+	private static final @NotNull AtomicInteger                  COUNT = new AtomicInteger();
+	
+	private final @NotNull String name;
+	private final          int    index;
+	
+	private PlaceholderKey(@NotNull String name) {
+		this.name  = name;
+		this.index = COUNT.getAndIncrement();
+	}
+	
+	/**
+	 * Returns the key of the name, creating it if it doesn't exist yet.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> @NotNull PlaceholderKey<T> of(@NotNull String name) {
+		final @Nullable PlaceholderKey<?> key = KEYS.get(name);
+		return (PlaceholderKey<T>) (key != null ? key : KEYS.computeIfAbsent(name, PlaceholderKey::new));
+	}
+	
+	/**
+	 * Returns the key of the name, or null if no such key was created.
+	 */
+	static @Nullable PlaceholderKey<?> find(@NotNull String name) {
+		return KEYS.get(name);
+	}
+	
+	@Override
+	public @NotNull String toString() {
+		return this.name;
+	}
+	
+}
@@ -0,0 +1,122 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A placeholder whose value is computed by a function shared by every message, registered with {@link PlaceholderProviders}.<br>
+ * The scope tells for how long a computed value is reused, e.g. the online player count is the same for every message within a tick,
+ * thus it's computed once per tick with <code>PlaceholderProvider.perTick("online", () -> Bukkit.getOnlinePlayers().size())</code>.
+ *
+ * @param <T> the type of the placeholder's values
+ */
+@Getter
+public final class PlaceholderProvider<T> {
+	
+	private final @NotNull String   name;
+	private final @NotNull Scope    scope;
+	private final @NotNull Duration ttl;
+	
+	/**
+	 * Computes the value for a player, or regardless of the player.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final @NotNull Function<Object, ? extends T> function;
+	
+	private PlaceholderProvider(@NotNull String name, @NotNull Scope scope, @NotNull Duration ttl, @NotNull Function<Object, ? extends T> function) {
+		this.name     = name;
+		this.scope    = scope;
+		this.ttl      = ttl;
+		this.function = function;
+	}
+	
+	/**
+	 * A value computed once and reused for as long as the provider is registered.
+	 */
+	public static <T> @NotNull PlaceholderProvider<T> ofStatic(@NotNull String name, @NotNull Supplier<? extends T> supplier) {
+		return new PlaceholderProvider<>(name, Scope.STATIC, Duration.ZERO, viewer -> supplier.get());
+	}
+	
+	/**
+	 * A value computed once per tick, see {@link PlaceholderProviders#tick()}.
+	 */
+	public static <T> @NotNull PlaceholderProvider<T> perTick(@NotNull String name, @NotNull Supplier<? extends T> supplier) {
+		return new PlaceholderProvider<>(name, Scope.TICK, Duration.ZERO, viewer -> supplier.get());
+	}
+	
+	/**
+	 * A value computed once per tick for every player, the value is undefined for messages without a player or with a viewer of another type.
+	 *
+	 * @param type type of the players, e.g. <code>Player.class</code>
+	 */
+	public static <P, T> @NotNull PlaceholderProvider<T> perPlayerTick(@NotNull String name, @NotNull Class<P> type, @NotNull Function<? super P, ? extends T> function) {
+		return new PlaceholderProvider<>(name, Scope.PLAYER_TICK, Duration.ZERO, viewer -> type.isInstance(viewer) ? function.apply(type.cast(viewer)) : null);
+	}
+	
+	/**
+	 * A value computed again once it's older than the time to live.
+	 */
+	public static <T> @NotNull PlaceholderProvider<T> timed(@NotNull String name, @NotNull Duration ttl, @NotNull Supplier<? extends T> supplier) {
+		if(ttl.isNegative()) throw new IllegalArgumentException("ttl cannot be negative: " + ttl);
+		return new PlaceholderProvider<>(name, Scope.TIME, ttl, viewer -> supplier.get());
+	}
+	
+	/**
+	 * Computes the value, the player is ignored by the scopes other than {@link Scope#PLAYER_TICK}.
+	 */
+	@Nullable T compute(@Nullable Object player) {
+		return this.function.apply(player);
+	}
+	
+	public enum Scope {
+		
+		/**
+		 * Computed once.
+		 */
+		STATIC,
+		
+		/**
+		 * Computed once per tick.
+		 */
+		TICK,
+		
+		/**
+		 * Computed once per tick for every player.
+		 */
+		PLAYER_TICK,
+		
+		/**
+		 * Computed once per time to live.
+		 */
+		TIME
+		
+	}
+	
+}
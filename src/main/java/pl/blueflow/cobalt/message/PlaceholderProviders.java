@@ -0,0 +1,305 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Placeholders provided to every message of a translator, each value computed once and shared by all renders within its provider's scope.<br>
+ * Reads never lock, registrations publish a new snapshot of the providers and cached values are published as immutable holders,
+ * so concurrent renders missing the same value may both compute it, the last one is kept.
+ * Placeholders passed with a message take precedence over the provided ones.
+ */
+public final class PlaceholderProviders {
+	
+	/**
+	 * Stands for a computed null in the players' values.
+	 */
+	private static final @NotNull Object NULL = new Object();
+	
+	private volatile @NotNull Map<String, Provided> providers = Map.of();
+	
+	private final @NotNull AtomicLong tick = new AtomicLong();
+	
+	/**
+	 * The source of the current tick, e.g. the server's tick counter, if null ticks are advanced by {@link #tick()}.
+	 */
+	@Setter
+	private volatile @Nullable LongSupplier tickSource = null;
+	
+	/**
+	 * The source of the time of {@link PlaceholderProvider.Scope#TIME} providers, in nanoseconds.
+	 */
+	private final @NotNull LongSupplier clock;
+	
+	/**
+	 * The provided values without a player.
+	 */
+	private final @NotNull Map<String, Object> context = new ProvidedContext(null, null);
+	
+	public PlaceholderProviders() {
+		this(System::nanoTime);
+	}
+	
+	PlaceholderProviders(@NotNull LongSupplier clock) {
+		this.clock = clock;
+	}
+	
+	/**
+	 * Registers the provider, replacing the provider of the same name.
+	 */
+	public synchronized void register(@NotNull PlaceholderProvider<?> provider) {
+		final @NotNull Map<String, Provided> providers = new HashMap<>(this.providers);
+		providers.put(provider.getName(), new Provided(provider));
+		this.providers = Map.copyOf(providers);
+	}
+	
+	/**
+	 * @return false if there was no provider of the name
+	 */
+	public synchronized boolean unregister(@NotNull String name) {
+		if(!this.providers.containsKey(name)) return false;
+		final @NotNull Map<String, Provided> providers = new HashMap<>(this.providers);
+		providers.remove(name);
+		this.providers = Map.copyOf(providers);
+		return true;
+	}
+	
+	public @Nullable PlaceholderProvider<?> getProvider(@NotNull String name) {
+		final @Nullable Provided provided = this.providers.get(name);
+		return provided != null ? provided.provider : null;
+	}
+	
+	public boolean isEmpty() {
+		return this.providers.isEmpty();
+	}
+	
+	/**
+	 * Advances the tick, meant to be called once at the start of every tick if there's no tick source.
+	 */
+	public void tick() {
+		this.tick.incrementAndGet();
+	}
+	
+	public long getTick() {
+		final @Nullable LongSupplier source = this.tickSource;
+		return source != null ? source.getAsLong() : this.tick.get();
+	}
+	
+	/**
+	 * Returns the provided value, computing it if there's none within the provider's scope, or null if it's undefined.
+	 *
+	 * @param player the player the message is for, null if it's for no particular player
+	 */
+	public @Nullable Object get(@NotNull String name, @Nullable Object player) {
+		final @Nullable Provided provided = this.providers.get(name);
+		return provided != null ? provided.get(player, this) : null;
+	}
+	
+	/**
+	 * Returns the provided values without a player as a read-only map, computed once looked up.
+	 */
+	public @NotNull Map<String, Object> context() {
+		return this.context;
+	}
+	
+	/**
+	 * Returns the provided values for the player as a read-only map, computed once looked up.
+	 */
+	public @NotNull Map<String, Object> context(@Nullable Object player) {
+		return player == null ? this.context : new ProvidedContext(player, null);
+	}
+	
+	/**
+	 * Returns the placeholders over the provided values for the player as a read-only map, without copying the placeholders.<br>
+	 * Pass it as the context of a message to resolve {@link PlaceholderProvider.Scope#PLAYER_TICK} providers for the player.
+	 */
+	public @NotNull Map<String, Object> context(@Nullable Object player, @Nullable Map<String, Object> placeholders) {
+		if(placeholders == null || placeholders.isEmpty()) return this.context(player);
+		return new ProvidedContext(player, placeholders);
+	}
+	
+	/**
+	 * Returns the placeholders over the provided values without a player, the placeholders themselves if they're provided already or nothing is registered.
+	 */
+	@NotNull Map<String, Object> over(@NotNull Map<String, Object> placeholders) {
+		if(placeholders instanceof ProvidedContext || this.providers.isEmpty()) return placeholders;
+		return new ProvidedContext(null, placeholders);
+	}
+	
+	/**
+	 * A registered provider with its cached values.
+	 */
+	private static final class Provided {
+		
+		private final @NotNull PlaceholderProvider<?> provider;
+		private final          long                   ttl;
+		
+		/**
+		 * The value of the scopes other than {@link PlaceholderProvider.Scope#PLAYER_TICK}, null if none was computed yet.
+		 */
+		private volatile @Nullable Value value = null;
+		
+		/**
+		 * The values of the {@link PlaceholderProvider.Scope#PLAYER_TICK} scope, replaced on the first read of every tick.
+		 */
+		private volatile @NotNull PlayerValues players = new PlayerValues(Long.MIN_VALUE);
+		
+		private Provided(@NotNull PlaceholderProvider<?> provider) {
+			this.provider = provider;
+			this.ttl      = provider.getTtl().toNanos();
+		}
+		
+		private @Nullable Object get(@Nullable Object player, @NotNull PlaceholderProviders providers) {
+			return switch(this.provider.getScope()) {
+				case STATIC -> {
+					final @Nullable Value value = this.value;
+					if(value != null) yield value.value;
+					yield this.compute(0L);
+				}
+				case TICK -> {
+					final long tick = providers.getTick();
+					final @Nullable Value value = this.value;
+					if(value != null && value.time == tick) yield value.value;
+					yield this.compute(tick);
+				}
+				case TIME -> {
+					final long now = providers.clock.getAsLong();
+					final @Nullable Value value = this.value;
+					if(value != null && now - value.time < this.ttl) yield value.value;
+					yield this.compute(now);
+				}
+				case PLAYER_TICK -> {
+					if(player == null) yield null;
+					final long tick = providers.getTick();
+					@NotNull PlayerValues players = this.players;
+					if(players.tick != tick) {
+						players      = new PlayerValues(tick);
+						this.players = players;
+					}
+					final @Nullable Object cached = players.values.get(player);
+					if(cached != null) yield cached != NULL ? cached : null;
+					final @Nullable Object computed = this.provider.compute(player);
+					players.values.put(player, computed != null ? computed : NULL);
+					yield computed;
+				}
+			};
+		}
+		
+		private @Nullable Object compute(long time) {
+			final @Nullable Object computed = this.provider.compute(null);
+			this.value = new Value(computed, time);
+			return computed;
+		}
+		
+	}
+	
+	/**
+	 * A computed value together with the tick or the time it was computed at.
+	 */
+	private static final class Value {
+		
+		private final @Nullable Object value;
+		private final           long   time;
+		
+		private Value(@Nullable Object value, long time) {
+			this.value = value;
+			this.time  = time;
+		}
+		
+	}
+	
+	/**
+	 * The values computed for every player within a single tick.
+	 */
+	private static final class PlayerValues {
+		
+		private final          long                tick;
+		private final @NotNull Map<Object, Object> values = new ConcurrentHashMap<>();
+		
+		private PlayerValues(long tick) {
+			this.tick = tick;
+		}
+		
+	}
+	
+	/**
+	 * A read-only view of placeholders over the provided values for a player, a lookup tries the placeholders first.<br>
+	 * Only iterating the view computes every provided value, the translators merely look placeholders up.
+	 */
+	private final class ProvidedContext extends AbstractMap<String, Object> {
+		
+		private final @Nullable Object              player;
+		private final @Nullable Map<String, Object> placeholders;
+		
+		private ProvidedContext(@Nullable Object player, @Nullable Map<String, Object> placeholders) {
+			this.player       = player;
+			this.placeholders = placeholders;
+		}
+		
+		@Override
+		public @Nullable Object get(@Nullable Object key) {
+			if(this.placeholders != null) {
+				final @Nullable Object value = this.placeholders.get(key);
+				if(value != null) return value;
+			}
+			return key instanceof String name ? PlaceholderProviders.this.get(name, this.player) : null;
+		}
+		
+		@Override
+		public boolean containsKey(@Nullable Object key) {
+			return this.get(key) != null;
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			return (this.placeholders == null || this.placeholders.isEmpty()) && PlaceholderProviders.this.isEmpty();
+		}
+		
+		@Override
+		public @NotNull Set<Entry<String, Object>> entrySet() {
+			final @NotNull Map<String, Object> merged = new HashMap<>();
+			for(final @NotNull String name : PlaceholderProviders.this.providers.keySet()) {
+				final @Nullable Object value = PlaceholderProviders.this.get(name, this.player);
+				if(value != null) merged.put(name, value);
+			}
+			if(this.placeholders != null) {
+				this.placeholders.forEach((name, value) -> {
+					if(value != null) merged.put(name, value);
+				});
+			}
+			return Map.copyOf(merged).entrySet();
+		}
+		
+	}
+	
+}
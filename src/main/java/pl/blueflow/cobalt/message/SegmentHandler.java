@@ -0,0 +1,211 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flattens the lexer's tokens into segments, every segment carries its own style and the events of the actions it's inside of.<br>
+ * A style lasts until the next tag, text after an action's end or inside an action's body starts unstyled.
+ */
+abstract class SegmentHandler implements MessageLexer.Handler {
+	
+	/**
+	 * Counts removed segments if coalescing, adjacent segments with an equal style and events are merged and segments without content are dropped.
+	 */
+	private final @Nullable LongAdder coalesced;
+	
+	/**
+	 * Content of the current segment, each part is either a string or a {@link CompiledTemplate.Slot}.
+	 */
+	private final @NotNull List<Object> parts = new ArrayList<>();
+	
+	private @Nullable Message.Color            color          = null;
+	private @NotNull  List<Message.Decoration> decorations    = List.of();
+	private           int                      decorationMask = 0;
+	
+	/**
+	 * Set by a style tag, the tag's segment is emitted even if it has no content.
+	 */
+	private boolean styled = false;
+	
+	private final @NotNull ArrayList<Object>  clicks = new ArrayList<>();
+	private final @NotNull ArrayList<Object>  hovers = new ArrayList<>();
+	private final @NotNull ArrayList<Boolean> frames = new ArrayList<>();
+	
+	private boolean insideHover = false;
+	
+	/**
+	 * The last segment if coalescing, held back until a segment with a different style or events comes.
+	 */
+	private final @NotNull List<Object> pending = new ArrayList<>();
+	
+	private @Nullable Message.Color            pendingColor          = null;
+	private @NotNull  List<Message.Decoration> pendingDecorations    = List.of();
+	private           int                      pendingDecorationMask = 0;
+	private @Nullable Object                   pendingClick          = null;
+	private @Nullable Object                   pendingHover          = null;
+	
+	/**
+	 * @param coalesced the counter of removed segments, null to disable coalescing
+	 */
+	protected SegmentHandler(@Nullable LongAdder coalesced) {
+		this.coalesced = coalesced;
+	}
+	
+	/**
+	 * Accepts a finished segment, the parts list is reused afterwards.
+	 *
+	 * @param click the innermost click event, null inside a hover
+	 * @param hover the innermost hover event, null inside a hover
+	 */
+	protected abstract void segment(@NotNull List<Object> parts, @Nullable Message.Color color, @NotNull List<Message.Decoration> decorations, @Nullable Object click, @Nullable Object hover);
+	
+	/**
+	 * Begins collecting a hover's content, following segments belong to it.
+	 */
+	protected abstract void openHover();
+	
+	/**
+	 * Finishes collecting a hover's content and returns the hover event.
+	 *
+	 * @param start start of the hover content in the source, inclusive
+	 * @param end   end of the hover content in the source, exclusive
+	 */
+	protected abstract @NotNull Object closeHover(int start, int end);
+	
+	protected void pushClick(@NotNull Object click) {
+		this.flush();
+		this.clicks.add(click);
+		this.frames.add(Boolean.TRUE);
+	}
+	
+	/**
+	 * Emits the last segment, must be called after the lexer is done.
+	 */
+	protected void finish() {
+		this.flush();
+		this.flushPending();
+	}
+	
+	@Override
+	public void text(@NotNull String text) {
+		this.parts.add(text);
+	}
+	
+	@Override
+	public void slot(@NotNull CompiledTemplate.Slot slot) {
+		this.parts.add(slot);
+	}
+	
+	@Override
+	public void style(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+		this.flush();
+		this.color          = color;
+		this.decorations    = decorations;
+		this.decorationMask = Message.Decoration.mask(decorations);
+		this.styled         = true;
+	}
+	
+	@Override
+	public void click(@NotNull Message.Click<?> click) {
+		this.pushClick(click);
+	}
+	
+	@Override
+	public void beginHover() {
+		this.flush();
+		this.flushPending();
+		this.insideHover = true;
+		this.openHover();
+	}
+	
+	@Override
+	public void endHover(int start, int end) {
+		this.flush();
+		this.flushPending();
+		this.insideHover = false;
+		this.hovers.add(this.closeHover(start, end));
+		this.frames.add(Boolean.FALSE);
+	}
+	
+	@Override
+	public void end() {
+		this.flush();
+		final boolean click = this.frames.remove(this.frames.size() - 1);
+		if(click) {
+			this.clicks.remove(this.clicks.size() - 1);
+		} else {
+			this.hovers.remove(this.hovers.size() - 1);
+		}
+	}
+	
+	/**
+	 * Emits the current segment if there's any, every tag boundary resets the style.
+	 */
+	private void flush() {
+		if(!this.parts.isEmpty() || this.styled) {
+			final @Nullable Object click = this.insideHover || this.clicks.isEmpty() ? null : this.clicks.get(this.clicks.size() - 1);
+			final @Nullable Object hover = this.insideHover || this.hovers.isEmpty() ? null : this.hovers.get(this.hovers.size() - 1);
+			if(this.coalesced == null) {
+				this.segment(this.parts, this.color, this.decorations, click, hover);
+			} else if(this.parts.isEmpty()) {
+				this.coalesced.increment();
+			} else if(
+				!this.pending.isEmpty() &&
+				Objects.equals(this.color, this.pendingColor) &&
+				this.decorationMask == this.pendingDecorationMask &&
+				Objects.equals(click, this.pendingClick) &&
+				Objects.equals(hover, this.pendingHover)
+			) {
+				this.pending.addAll(this.parts);
+				this.coalesced.increment();
+			} else {
+				this.flushPending();
+				this.pending.addAll(this.parts);
+				this.pendingColor          = this.color;
+				this.pendingDecorations    = this.decorations;
+				this.pendingDecorationMask = this.decorationMask;
+				this.pendingClick          = click;
+				this.pendingHover          = hover;
+			}
+			this.parts.clear();
+		}
+		this.color          = null;
+		this.decorations    = List.of();
+		this.decorationMask = 0;
+		this.styled         = false;
+	}
+	
+	private void flushPending() {
+		if(this.pending.isEmpty()) return;
+		this.segment(this.pending, this.pendingColor, this.pendingDecorations, this.pendingClick, this.pendingHover);
+		this.pending.clear();
+	}
+	
+}
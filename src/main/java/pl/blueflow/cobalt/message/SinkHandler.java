@@ -0,0 +1,117 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Drives a {@link MessageSink} with the lexer's tokens.<br>
+ * A style lasts until the next tag, so every tag boundary pops the open style first.
+ */
+final class SinkHandler<R> implements MessageLexer.Handler {
+	
+	private final @NotNull MessageSink<R> root;
+	
+	private @NotNull MessageSink<R> sink;
+	private          boolean        styled   = false;
+	private          int            segments = 0;
+	
+	SinkHandler(@NotNull MessageSink<R> sink) {
+		this.root = sink;
+		this.sink = sink;
+	}
+	
+	private void closeStyle() {
+		if(this.styled) {
+			this.sink.pop();
+			this.styled = false;
+		}
+	}
+	
+	/**
+	 * Returns the number of texts passed on so far, hovers' texts included.
+	 */
+	int getSegments() {
+		return this.segments;
+	}
+	
+	/**
+	 * Pops the last style and returns the sink's result, must be called after the lexer is done.
+	 */
+	@NotNull R finish() {
+		this.closeStyle();
+		return this.root.result();
+	}
+	
+	@Override
+	public void text(@NotNull String text) {
+		this.segments++;
+		this.sink.text(text);
+	}
+	
+	@Override
+	public void slot(@NotNull CompiledTemplate.Slot slot) {
+		throw new IllegalStateException("placeholders must be substituted before parsing into a sink");
+	}
+	
+	@Override
+	public void style(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+		this.closeStyle();
+		this.sink.pushStyle(color, decorations);
+		this.styled = true;
+	}
+	
+	@Override
+	public void click(@NotNull Message.Click<?> click) {
+		this.closeStyle();
+		this.sink.pushClick(click);
+	}
+	
+	@Override
+	public void click(@NotNull Message.Click.Action action, @NotNull List<Object> value) {
+		throw new IllegalStateException("placeholders must be substituted before parsing into a sink");
+	}
+	
+	@Override
+	public void beginHover() {
+		this.closeStyle();
+		this.sink = this.root.fork();
+	}
+	
+	@Override
+	public void endHover(int start, int end) {
+		this.closeStyle();
+		final @NotNull R content = this.sink.result();
+		this.sink = this.root;
+		this.sink.pushHover(content);
+	}
+	
+	@Override
+	public void end() {
+		this.closeStyle();
+		this.sink.pop();
+	}
+	
+}
@@ -0,0 +1,78 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A builder per thread for renderers producing strings, reused so that only the resulting string is allocated.<br>
+ * A builder is in use from {@link #acquire()} until {@link #release(StringBuilder)},
+ * a renderer called in the meantime, e.g. by a placeholder value translating another message, gets a new builder instead.
+ */
+final class StringBuilderPool {
+	
+	private static final int INITIAL_CAPACITY = 256;
+	
+	/**
+	 * Builders above this capacity aren't kept for reuse.
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+	
+	private static final @NotNull ThreadLocal<Entry> ENTRIES = ThreadLocal.withInitial(Entry::new);
+	
+	private StringBuilderPool() {}
+	
+	/**
+	 * Returns the thread's empty builder, or a new one if the thread's builder is in use, must be released once its content is turned into a string.
+	 */
+	static @NotNull StringBuilder acquire() {
+		final @NotNull Entry entry = ENTRIES.get();
+		if(entry.inUse) return new StringBuilder(INITIAL_CAPACITY);
+		entry.inUse = true;
+		if(entry.builder.capacity() > MAX_RETAINED_CAPACITY) {
+			entry.builder = new StringBuilder(INITIAL_CAPACITY);
+		} else {
+			entry.builder.setLength(0);
+		}
+		return entry.builder;
+	}
+	
+	/**
+	 * Returns the builder to the pool, builders created because the thread's builder was in use are simply dropped.
+	 */
+	static void release(@NotNull StringBuilder builder) {
+		final @NotNull Entry entry = ENTRIES.get();
+		if(entry.builder == builder) entry.inUse = false;
+	}
+	
+	/**
+	 * The thread's builder and whether a renderer is using it.
+	 */
+	private static final class Entry {
+		
+		private @NotNull StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+		
+		private boolean inUse = false;
+		
+	}
+	
+}
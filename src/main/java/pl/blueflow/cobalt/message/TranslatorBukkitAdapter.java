@@ -26,6 +26,7 @@ import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.event.HoverEventSource;
+import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.jetbrains.annotations.Contract;
@@ -34,14 +35,24 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public final class TranslatorBukkitAdapter extends MessageTranslator {
 	
-	private static final @NotNull Map<TextDecoration, TextDecoration.State> DEFAULT_DECORATION_STATE = Arrays
-		.stream(TextDecoration.values())
-		.collect(Collectors.toUnmodifiableMap(d -> d, d -> TextDecoration.State.FALSE));
+	/**
+	 * Decoration states of all decoration masks, indexed by the mask.
+	 */
+	private static final @NotNull List<Map<TextDecoration, TextDecoration.State>> DECORATION_STATES = IntStream
+		.range(0, 1 << Message.Decoration.values().length)
+		.mapToObj(mask -> Arrays
+			.stream(TextDecoration.values())
+			.collect(Collectors.toUnmodifiableMap(d -> d, d -> decorated(mask, d) ? TextDecoration.State.TRUE : TextDecoration.State.FALSE)))
+		.toList();
 	
-	private static final @NotNull Map<Message.Decoration, TextDecoration> DECORATION_CACHE = new HashMap<>();
+	/**
+	 * Style of text outside of any style, with all decorations disabled.
+	 */
+	private static final @NotNull Style DEFAULT_STYLE = Style.style().decorations(DECORATION_STATES.get(0)).build();
 	
 	private static @NotNull Component toComponent(@NotNull List<Message> messages) {
 		final @NotNull TextComponent.Builder builder = Component.text();
@@ -52,12 +63,20 @@ public final class TranslatorBukkitAdapter extends MessageTranslator {
 	}
 	
 	private static @NotNull Component toComponent(@NotNull Message message) {
-		return Component
-			.text(message.getContent())
-			.color(convertColor(message.getColor()))
-			.decorations(convertDecorations(message.getDecorations()))
-			.clickEvent(convertClickEvent(message.getClickEvent()))
-			.hoverEvent(convertHoverEvent(message.getHoverEvent()));
+		return Component.text(message.getContent(), convertStyle(message.getStyle()));
+	}
+	
+	/**
+	 * Converts the style once and remembers the result on it, messages sharing a style share the converted style as well.
+	 */
+	private static @NotNull Style convertStyle(@NotNull Message.Style style) {
+		return style.convert(Style.class, s -> Style
+			.style()
+			.color(convertColor(s.getColor()))
+			.decorations(DECORATION_STATES.get(s.getDecorationMask()))
+			.clickEvent(convertClickEvent(s.getClickEvent()))
+			.hoverEvent(convertHoverEvent(s.getHoverEvent()))
+			.build());
 	}
 	
 	@Contract("null -> null; !null -> !null")
@@ -66,15 +85,8 @@ public final class TranslatorBukkitAdapter extends MessageTranslator {
 		return TextColor.color(color.getValue());
 	}
 	
-	private static @NotNull Map<TextDecoration, TextDecoration.State> convertDecorations(@NotNull Collection<Message.Decoration> decorations) {
-		final @NotNull Map<TextDecoration, TextDecoration.State> map = decorations
-			.stream()
-			.map(decoration -> DECORATION_CACHE.computeIfAbsent(decoration, d -> TextDecoration.valueOf(d.name())))
-			.collect(Collectors.toMap(d -> d, d -> TextDecoration.State.TRUE)
-			);
-		DEFAULT_DECORATION_STATE.forEach(map::putIfAbsent);
-		
-		return map;
+	private static boolean decorated(int mask, @NotNull TextDecoration decoration) {
+		return (mask & Message.Decoration.valueOf(decoration.name()).mask()) != 0;
 	}
 	
 	@Contract("null -> null; !null -> !null")
@@ -95,7 +107,7 @@ public final class TranslatorBukkitAdapter extends MessageTranslator {
 		if(hover == null) return null;
 		return switch(hover.getAction()) {
 			case SHOW_TEXT -> //noinspection unchecked
-				HoverEvent.showText(toComponent((List<Message>) hover.getValue()));
+				hover.convert(HoverEvent.class, h -> HoverEvent.showText(toComponent((List<Message>) h.getValue())));
 			case SHOW_ENTITY, SHOW_ITEM -> throw new UnsupportedOperationException();
 		};
 	}
@@ -105,7 +117,89 @@ public final class TranslatorBukkitAdapter extends MessageTranslator {
 	}
 	
 	public @NotNull Component translate(@NotNull String source, @Nullable Map<String, Object> context) {
-		return toComponent(this.parse(source, context != null ? context : Collections.emptyMap(), null));
+		return this.parseInto(source, context != null ? context : Collections.emptyMap(), new ComponentSink());
+	}
+	
+	/**
+	 * Translates a message written by a player, see {@link #parseUntrusted(String, ParseProfile)}.
+	 */
+	public @NotNull Component translateUntrusted(@NotNull String source, @NotNull ParseProfile profile) {
+		return this.parseUntrustedInto(source, profile, new ComponentSink());
+	}
+	
+	public @NotNull Component translate(@NotNull CompiledTemplate template) {
+		return this.translate(template, (Map<String, Object>) null);
+	}
+	
+	public @NotNull Component translate(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		return this.convert(this.render(template, context), TranslatorBukkitAdapter::toComponent);
+	}
+	
+	/**
+	 * Translates the template with the values of a placeholder context, read by index without hashing their names.
+	 */
+	public @NotNull Component translate(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		return this.convert(this.render(template, context), TranslatorBukkitAdapter::toComponent);
+	}
+	
+	/**
+	 * Builds components straight from the parser, every push becomes the parent of the components inside it.
+	 */
+	private static final class ComponentSink implements MessageSink<Component> {
+		
+		private final @NotNull ArrayList<TextComponent.Builder> builders = new ArrayList<>();
+		
+		/**
+		 * Text inside a style inherits its decorations, text outside of one has all of them disabled.
+		 */
+		private boolean styled = false;
+		
+		private ComponentSink() {
+			this.builders.add(Component.text());
+		}
+		
+		private @NotNull TextComponent.Builder current() {
+			return this.builders.get(this.builders.size() - 1);
+		}
+		
+		@Override
+		public void text(@NotNull String text) {
+			this.current().append(this.styled ? Component.text(text) : Component.text(text, DEFAULT_STYLE));
+		}
+		
+		@Override
+		public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+			this.builders.add(Component.text().style(convertStyle(Message.Style.of(color, decorations, null, null))));
+			this.styled = true;
+		}
+		
+		@Override
+		public void pushClick(@NotNull Message.Click<?> click) {
+			this.builders.add(Component.text().clickEvent(convertClickEvent(click)));
+		}
+		
+		@Override
+		public void pushHover(@NotNull Component content) {
+			this.builders.add(Component.text().hoverEvent(HoverEvent.showText(content)));
+		}
+		
+		@Override
+		public void pop() {
+			final @NotNull Component component = this.builders.remove(this.builders.size() - 1).build();
+			this.current().append(component);
+			this.styled = false;
+		}
+		
+		@Override
+		public @NotNull MessageSink<Component> fork() {
+			return new ComponentSink();
+		}
+		
+		@Override
+		public @NotNull Component result() {
+			return this.builders.get(0).build();
+		}
+		
 	}
 	
 }
@@ -21,6 +21,203 @@
 
 package pl.blueflow.cobalt.message;
 
-public final class TranslatorBungeeAdapter extends MessageTranslator {
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Color;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Translates messages into BungeeCord components.<br>
+ * Colors, events and whole styles are converted once and shared internally, so are the components of static templates.
+ * BungeeCord components are mutable, so every returned component and its hover are copies the caller may modify.
+ */
+public final class TranslatorBungeeAdapter extends MessageTranslator {
+	
+	/**
+	 * Maximum number of distinct colors kept converted, besides the legacy ones.
+	 */
+	private static final int COLOR_CACHE_SIZE = 1024;
+	
+	private static final @NotNull ChatColor[] LEGACY = {
+		ChatColor.BLACK, ChatColor.DARK_BLUE, ChatColor.DARK_GREEN, ChatColor.DARK_AQUA, ChatColor.DARK_RED, ChatColor.DARK_PURPLE, ChatColor.GOLD, ChatColor.GRAY,
+		ChatColor.DARK_GRAY, ChatColor.BLUE, ChatColor.GREEN, ChatColor.AQUA, ChatColor.RED, ChatColor.LIGHT_PURPLE, ChatColor.YELLOW, ChatColor.WHITE
+	};
+	
+	/**
+	 * Converted colors by their value, the legacy colors are mapped to their named counterparts.
+	 */
+	private static final @NotNull Map<Integer, ChatColor> COLORS = new ConcurrentHashMap<>();
+	
+	static {
+		for(final @NotNull ChatColor color : LEGACY) {
+			COLORS.put(color.getColor().getRGB() & 0xffffff, color);
+		}
+	}
+	
+	private static @NotNull BaseComponent[] toComponents(@NotNull List<Message> messages) {
+		final @NotNull BaseComponent[] components = new BaseComponent[messages.size()];
+		for(int i = 0; i < components.length; i++) {
+			final @NotNull Message       message   = messages.get(i);
+			final @NotNull TextComponent component = new TextComponent(message.getContent());
+			convertStyle(message.getStyle()).applyTo(component);
+			components[i] = component;
+		}
+		return components;
+	}
+	
+	/**
+	 * Copies the components, so that modifying them doesn't affect the shared conversions.<br>
+	 * {@link BaseComponent#duplicate()} keeps the same hover event, so hovers are copied as well.
+	 */
+	private static @NotNull BaseComponent[] copy(@NotNull BaseComponent[] components) {
+		final @NotNull BaseComponent[] copies = new BaseComponent[components.length];
+		for(int i = 0; i < copies.length; i++) {
+			final @NotNull  BaseComponent copy  = components[i].duplicate();
+			final @Nullable HoverEvent    hover = copy.getHoverEvent();
+			if(hover != null) copy.setHoverEvent(copy(hover));
+			copies[i] = copy;
+		}
+		return copies;
+	}
+	
+	/**
+	 * Copies a hover converted by {@link #convertHoverEvent(Message.Hover)}, which has a single text of components.
+	 */
+	private static @NotNull HoverEvent copy(@NotNull HoverEvent hover) {
+		final @NotNull Text content = (Text) hover.getContents().get(0);
+		return new HoverEvent(hover.getAction(), new Text(copy((BaseComponent[]) content.getValue())));
+	}
+	
+	private static @NotNull Style convertStyle(@NotNull Message.Style style) {
+		return style.convert(Style.class, Style::new);
+	}
+	
+	@Contract("null -> null; !null -> !null")
+	private static @Nullable ChatColor convertColor(@Nullable Message.Color color) {
+		if(color == null) return null;
+		final @Nullable ChatColor cached = COLORS.get(color.getValue());
+		if(cached != null) return cached;
+		final @NotNull ChatColor created = ChatColor.of(new Color(color.getValue()));
+		if(COLORS.size() >= COLOR_CACHE_SIZE) return created;
+		final @Nullable ChatColor previous = COLORS.putIfAbsent(color.getValue(), created);
+		return previous != null ? previous : created;
+	}
+	
+	@Contract("null -> null; !null -> !null")
+	private static @Nullable ClickEvent convertClickEvent(@Nullable Message.Click<?> click) {
+		if(click == null) return null;
+		return new ClickEvent(ClickEvent.Action.valueOf(click.getAction().name()), String.valueOf(click.getValue()));
+	}
+	
+	@Contract("null -> null; !null -> !null")
+	private static @Nullable HoverEvent convertHoverEvent(@Nullable Message.Hover<?> hover) {
+		if(hover == null) return null;
+		return switch(hover.getAction()) {
+			case SHOW_TEXT -> //noinspection unchecked
+				hover.convert(HoverEvent.class, h -> new HoverEvent(HoverEvent.Action.SHOW_TEXT, new Text(toComponents((List<Message>) h.getValue()))));
+			case SHOW_ENTITY, SHOW_ITEM -> throw new UnsupportedOperationException();
+		};
+	}
+	
+	public @NotNull BaseComponent[] translate(@NotNull String source) {
+		return this.translate(source, null);
+	}
+	
+	public @NotNull BaseComponent[] translate(@NotNull String source, @Nullable Map<String, Object> context) {
+		return this.convert(this.parse(source, context != null ? context : Collections.emptyMap()), TranslatorBungeeAdapter::toComponents);
+	}
+	
+	/**
+	 * Translates a message written by a player, see {@link #parseUntrusted(String, ParseProfile)}.
+	 */
+	public @NotNull BaseComponent[] translateUntrusted(@NotNull String source, @NotNull ParseProfile profile) {
+		return this.convert(this.parseUntrusted(source, profile), TranslatorBungeeAdapter::toComponents);
+	}
+	
+	public @NotNull BaseComponent[] translate(@NotNull CompiledTemplate template) {
+		return this.translate(template, (Map<String, Object>) null);
+	}
+	
+	/**
+	 * Translates the template, a static template is converted only once and copies of the same components are returned every time.<br>
+	 * Placeholders the context doesn't set are looked up in the {@link #getProviders() providers}, the conversion is timed as part of rendering as well.
+	 */
+	public @NotNull BaseComponent[] translate(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		final long start = this.getMetrics().start();
+		final @NotNull BaseComponent[] components = template.render(
+			context != null ? context : Collections.emptyMap(),
+			this.getProviders(),
+			BaseComponent[].class,
+			messages -> this.convert(messages, TranslatorBungeeAdapter::toComponents)
+		);
+		this.getMetrics().record(TranslatorMetrics.Stage.RENDER, start);
+		return template.isStatic() ? copy(components) : components;
+	}
+	
+	/**
+	 * Translates the template with the values of a placeholder context, read by index without hashing their names.
+	 */
+	public @NotNull BaseComponent[] translate(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		final long start = this.getMetrics().start();
+		final @NotNull BaseComponent[] components = template.render(
+			context,
+			this.getProviders(),
+			BaseComponent[].class,
+			messages -> this.convert(messages, TranslatorBungeeAdapter::toComponents)
+		);
+		this.getMetrics().record(TranslatorMetrics.Stage.RENDER, start);
+		return template.isStatic() ? copy(components) : components;
+	}
+	
+	/**
+	 * A converted style, applied to every component styled the same way, each component gets a copy of the hover.<br>
+	 * Decorations are always set, so that components never inherit them from the client's defaults.
+	 */
+	private static final class Style {
+		
+		private final @Nullable ChatColor  color;
+		private final @Nullable ClickEvent clickEvent;
+		private final @Nullable HoverEvent hoverEvent;
+		
+		private final boolean bold;
+		private final boolean italic;
+		private final boolean underlined;
+		private final boolean strikethrough;
+		private final boolean obfuscated;
+		
+		private Style(@NotNull Message.Style style) {
+			this.color         = convertColor(style.getColor());
+			this.clickEvent    = convertClickEvent(style.getClickEvent());
+			this.hoverEvent    = convertHoverEvent(style.getHoverEvent());
+			this.bold          = style.hasDecoration(Message.Decoration.BOLD);
+			this.italic        = style.hasDecoration(Message.Decoration.ITALIC);
+			this.underlined    = style.hasDecoration(Message.Decoration.UNDERLINED);
+			this.strikethrough = style.hasDecoration(Message.Decoration.STRIKETHROUGH);
+			this.obfuscated    = style.hasDecoration(Message.Decoration.OBFUSCATED);
+		}
+		
+		private void applyTo(@NotNull BaseComponent component) {
+			if(this.color != null) component.setColor(this.color);
+			component.setBold(this.bold);
+			component.setItalic(this.italic);
+			component.setUnderlined(this.underlined);
+			component.setStrikethrough(this.strikethrough);
+			component.setObfuscated(this.obfuscated);
+			if(this.clickEvent != null) component.setClickEvent(this.clickEvent);
+			if(this.hoverEvent != null) component.setHoverEvent(copy(this.hoverEvent));
+		}
+		
+	}
+	
 }
@@ -0,0 +1,239 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates messages into strings for consoles and logs, either plain or colored with ANSI escape sequences.<br>
+ * Clicks and hovers are skipped entirely, the only object allocated besides the parser's is the resulting string.
+ */
+public final class TranslatorConsoleAdapter extends MessageTranslator {
+	
+	private static final @NotNull String RESET = "\u001b[0m";
+	
+	/**
+	 * Beginnings of the select graphic rendition sequences of all decoration masks, indexed by the mask, without the final <code>m</code>.<br>
+	 * Obfuscated text is written as it is, concealing it would hide it from the logs.
+	 */
+	private static final @NotNull String[] DECORATIONS = new String[1 << Message.Decoration.values().length];
+	
+	static {
+		for(int mask = 0; mask < DECORATIONS.length; mask++) {
+			final @NotNull StringBuilder builder = new StringBuilder("\u001b[0");
+			if((mask & Message.Decoration.BOLD.mask()) != 0) builder.append(";1");
+			if((mask & Message.Decoration.ITALIC.mask()) != 0) builder.append(";3");
+			if((mask & Message.Decoration.UNDERLINED.mask()) != 0) builder.append(";4");
+			if((mask & Message.Decoration.STRIKETHROUGH.mask()) != 0) builder.append(";9");
+			DECORATIONS[mask] = builder.toString();
+		}
+	}
+	
+	private static @NotNull String toText(@NotNull List<Message> messages, boolean ansi) {
+		final @NotNull StringBuilder builder = StringBuilderPool.acquire();
+		try {
+			final @NotNull AnsiWriter writer = new AnsiWriter(builder, ansi);
+			for(final @NotNull Message message : messages) {
+				writer.text(message.getContent(), message.getColor(), message.getStyle().getDecorationMask());
+			}
+			return writer.finish();
+		} finally {
+			StringBuilderPool.release(builder);
+		}
+	}
+	
+	/**
+	 * Parses the message straight into text, the pooled builder is released even if a placeholder value fails.
+	 */
+	private @NotNull String parseToText(@NotNull String source, @Nullable Map<String, Object> context, boolean ansi) {
+		final @NotNull StringBuilder builder = StringBuilderPool.acquire();
+		try {
+			return this.parseInto(source, context != null ? context : Collections.emptyMap(), new ConsoleSink(new AnsiWriter(builder, ansi)));
+		} finally {
+			StringBuilderPool.release(builder);
+		}
+	}
+	
+	public @NotNull String translatePlain(@NotNull String source) {
+		return this.translatePlain(source, null);
+	}
+	
+	/**
+	 * Translates the message into plain text, with all styles stripped.
+	 */
+	public @NotNull String translatePlain(@NotNull String source, @Nullable Map<String, Object> context) {
+		return this.parseToText(source, context, false);
+	}
+	
+	public @NotNull String translatePlain(@NotNull CompiledTemplate template) {
+		return this.translatePlain(template, (Map<String, Object>) null);
+	}
+	
+	public @NotNull String translatePlain(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		return this.convert(this.render(template, context), messages -> toText(messages, false));
+	}
+	
+	/**
+	 * Translates the template with the values of a placeholder context, read by index without hashing their names.
+	 */
+	public @NotNull String translatePlain(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		return this.convert(this.render(template, context), messages -> toText(messages, false));
+	}
+	
+	public @NotNull String translateAnsi(@NotNull String source) {
+		return this.translateAnsi(source, null);
+	}
+	
+	/**
+	 * Translates the message into text colored with 24-bit ANSI escape sequences, reset at the end if it's styled.
+	 */
+	public @NotNull String translateAnsi(@NotNull String source, @Nullable Map<String, Object> context) {
+		return this.parseToText(source, context, true);
+	}
+	
+	public @NotNull String translateAnsi(@NotNull CompiledTemplate template) {
+		return this.translateAnsi(template, (Map<String, Object>) null);
+	}
+	
+	public @NotNull String translateAnsi(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		return this.convert(this.render(template, context), messages -> toText(messages, true));
+	}
+	
+	/**
+	 * Translates the template with the values of a placeholder context, read by index without hashing their names.
+	 */
+	public @NotNull String translateAnsi(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		return this.convert(this.render(template, context), messages -> toText(messages, true));
+	}
+	
+	/**
+	 * Writes text into a builder, preceded by an escape sequence only when the style changes.
+	 */
+	private static final class AnsiWriter {
+		
+		private final @NotNull StringBuilder builder;
+		
+		private final boolean ansi;
+		
+		/**
+		 * The style last written, text without a style needs no escape sequence until a style is written.
+		 */
+		private @Nullable Message.Color color       = null;
+		private           int           decorations = 0;
+		
+		private AnsiWriter(@NotNull StringBuilder builder, boolean ansi) {
+			this.builder = builder;
+			this.ansi    = ansi;
+		}
+		
+		private void text(@NotNull String text, @Nullable Message.Color color, int decorations) {
+			if(this.ansi && (color != this.color || decorations != this.decorations)) {
+				if(color == null && decorations == 0) {
+					this.builder.append(RESET);
+				} else {
+					this.builder.append(DECORATIONS[decorations]);
+					if(color != null) {
+						final int value = color.getValue();
+						this.builder.append(";38;2;").append(value >> 16 & 0xff).append(';').append(value >> 8 & 0xff).append(';').append(value & 0xff);
+					}
+					this.builder.append('m');
+				}
+				this.color       = color;
+				this.decorations = decorations;
+			}
+			this.builder.append(text);
+		}
+		
+		private @NotNull String finish() {
+			if(this.color != null || this.decorations != 0) this.builder.append(RESET);
+			return this.builder.toString();
+		}
+		
+	}
+	
+	/**
+	 * Writes text straight from the parser, everything inside hovers is dropped.
+	 */
+	private static final class ConsoleSink implements MessageSink<String> {
+		
+		/**
+		 * Collects hovers' content, which is never shown, shared since it keeps no state.
+		 */
+		private static final @NotNull ConsoleSink IGNORE = new ConsoleSink(null);
+		
+		private final @Nullable AnsiWriter writer;
+		
+		private @Nullable Message.Color color       = null;
+		private           int           decorations = 0;
+		
+		private ConsoleSink(@Nullable AnsiWriter writer) {
+			this.writer = writer;
+		}
+		
+		@Override
+		public void text(@NotNull String text) {
+			if(this.writer != null) this.writer.text(text, this.color, this.decorations);
+		}
+		
+		@Override
+		public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+			if(this.writer == null) return;
+			this.color       = color;
+			this.decorations = Message.Decoration.mask(decorations);
+		}
+		
+		@Override
+		public void pushClick(@NotNull Message.Click<?> click) {
+		}
+		
+		@Override
+		public void pushHover(@NotNull String content) {
+		}
+		
+		/**
+		 * A style is always the innermost push, so any pop ends it.
+		 */
+		@Override
+		public void pop() {
+			if(this.writer == null) return;
+			this.color       = null;
+			this.decorations = 0;
+		}
+		
+		@Override
+		public @NotNull MessageSink<String> fork() {
+			return IGNORE;
+		}
+		
+		@Override
+		public @NotNull String result() {
+			return this.writer != null ? this.writer.finish() : "";
+		}
+		
+	}
+	
+}
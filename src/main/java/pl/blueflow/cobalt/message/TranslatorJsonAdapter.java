@@ -0,0 +1,343 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Translates messages straight into Minecraft chat JSON, without building any components on the way.<br>
+ * The JSON is equal character for character to what Adventure's GSON serializer produces
+ * for the components {@link TranslatorBukkitAdapter} builds from the same message.
+ */
+public final class TranslatorJsonAdapter extends MessageTranslator {
+	
+	/**
+	 * Escapes of ASCII characters, null for characters written as they are, the same ones GSON escapes with HTML escaping enabled.
+	 */
+	private static final @Nullable String[] ESCAPES = new String[128];
+	
+	/**
+	 * Decoration properties of all decoration masks, indexed by the mask, in the order Adventure writes them.
+	 */
+	private static final @NotNull String[] DECORATIONS = new String[1 << Message.Decoration.values().length];
+	
+	/**
+	 * Click event properties up to the value, indexed by the action's ordinal.
+	 */
+	private static final @NotNull String[] CLICKS = new String[Message.Click.Action.values().length];
+	
+	private static final @NotNull String HOVER_PREFIX = ",\"hoverEvent\":{\"action\":\"show_text\",\"contents\":";
+	private static final @NotNull String EXTRA_PREFIX = ",\"extra\":[";
+	private static final @NotNull String EMPTY_TEXT   = "{\"text\":\"\"";
+	
+	private static final @NotNull char[] HEX = "0123456789abcdef".toCharArray();
+	
+	/**
+	 * The legacy colors and their names, Adventure converts them to named colors and writes those by name.
+	 */
+	private static final @NotNull Message.Color[] LEGACY_COLORS = {
+		Message.Color.BLACK, Message.Color.DARK_BLUE, Message.Color.DARK_GREEN, Message.Color.DARK_AQUA,
+		Message.Color.DARK_RED, Message.Color.DARK_PURPLE, Message.Color.GOLD, Message.Color.GRAY,
+		Message.Color.DARK_GRAY, Message.Color.BLUE, Message.Color.GREEN, Message.Color.AQUA,
+		Message.Color.RED, Message.Color.LIGHT_PURPLE, Message.Color.YELLOW, Message.Color.WHITE
+	};
+	
+	private static final @NotNull String[] LEGACY_NAMES = {
+		"black", "dark_blue", "dark_green", "dark_aqua",
+		"dark_red", "dark_purple", "gold", "gray",
+		"dark_gray", "blue", "green", "aqua",
+		"red", "light_purple", "yellow", "white"
+	};
+	
+	static {
+		for(char c = 0; c < 0x20; c++) {
+			ESCAPES[c] = String.format("\\u%04x", (int) c);
+		}
+		ESCAPES['"']  = "\\\"";
+		ESCAPES['\\'] = "\\\\";
+		ESCAPES['\t'] = "\\t";
+		ESCAPES['\b'] = "\\b";
+		ESCAPES['\n'] = "\\n";
+		ESCAPES['\r'] = "\\r";
+		ESCAPES['\f'] = "\\f";
+		ESCAPES['<']  = "\\u003c";
+		ESCAPES['>']  = "\\u003e";
+		ESCAPES['&']  = "\\u0026";
+		ESCAPES['=']  = "\\u003d";
+		ESCAPES['\''] = "\\u0027";
+		
+		final @NotNull Message.Decoration[] order = {
+			Message.Decoration.BOLD, Message.Decoration.ITALIC, Message.Decoration.UNDERLINED, Message.Decoration.STRIKETHROUGH, Message.Decoration.OBFUSCATED
+		};
+		for(int mask = 0; mask < DECORATIONS.length; mask++) {
+			final @NotNull StringBuilder builder = new StringBuilder();
+			for(final @NotNull Message.Decoration decoration : order) {
+				builder.append(",\"").append(decoration.name().toLowerCase(Locale.ROOT)).append("\":").append((mask & decoration.mask()) != 0);
+			}
+			DECORATIONS[mask] = builder.toString();
+		}
+		
+		for(final @NotNull Message.Click.Action action : Message.Click.Action.values()) {
+			CLICKS[action.ordinal()] = ",\"clickEvent\":{\"action\":\"" + action.name().toLowerCase(Locale.ROOT) + "\",\"value\":\"";
+		}
+	}
+	
+	private static void appendString(@NotNull StringBuilder builder, @NotNull String value) {
+		builder.append('"');
+		appendEscaped(builder, value);
+		builder.append('"');
+	}
+	
+	private static void appendEscaped(@NotNull StringBuilder builder, @NotNull String value) {
+		int run = 0;
+		for(int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			final @Nullable String escape = c < 128 ? ESCAPES[c] : c == '\u2028' ? "\\u2028" : c == '\u2029' ? "\\u2029" : null;
+			if(escape == null) continue;
+			builder.append(value, run, i).append(escape);
+			run = i + 1;
+		}
+		builder.append(value, run, value.length());
+	}
+	
+	/**
+	 * Appends the decorations and the color, like all other properties preceded by a comma.<br>
+	 * Legacy colors are written by name and all other colors as hex, the same way Adventure writes them.
+	 */
+	private static void appendStyle(@NotNull StringBuilder builder, @Nullable Message.Color color, int decorations) {
+		builder.append(DECORATIONS[decorations]);
+		if(color == null) return;
+		for(int i = 0; i < LEGACY_COLORS.length; i++) {
+			if(LEGACY_COLORS[i].getValue() == color.getValue()) {
+				builder.append(",\"color\":\"").append(LEGACY_NAMES[i]).append('"');
+				return;
+			}
+		}
+		builder.append(",\"color\":\"#");
+		for(int shift = 20; shift >= 0; shift -= 4) {
+			builder.append(HEX[(color.getValue() >> shift) & 0xf]);
+		}
+		builder.append('"');
+	}
+	
+	private static void appendClick(@NotNull StringBuilder builder, @Nullable Message.Click<?> click) {
+		if(click == null) return;
+		builder.append(CLICKS[click.getAction().ordinal()]);
+		if(click.getAction() == Message.Click.Action.CHANGE_PAGE) {
+			builder.append((int) click.getValue());
+		} else {
+			appendEscaped(builder, (String) click.getValue());
+		}
+		builder.append("\"}");
+	}
+	
+	private static void appendHover(@NotNull StringBuilder builder, @Nullable Message.Hover<?> hover) {
+		if(hover == null) return;
+		final @NotNull String contents = switch(hover.getAction()) {
+			case SHOW_TEXT -> //noinspection unchecked
+				hover.convert(String.class, h -> {
+					final @NotNull StringBuilder content = new StringBuilder();
+					appendMessages(content, (List<Message>) h.getValue());
+					return content.toString();
+				});
+			case SHOW_ENTITY, SHOW_ITEM -> throw new UnsupportedOperationException();
+		};
+		builder.append(HOVER_PREFIX).append(contents).append('}');
+	}
+	
+	/**
+	 * Appends messages the way they're converted to components, each a child of an empty root with its whole style.
+	 */
+	private static void appendMessages(@NotNull StringBuilder builder, @NotNull List<Message> messages) {
+		builder.append(EMPTY_TEXT);
+		for(int i = 0; i < messages.size(); i++) {
+			final @NotNull Message message = messages.get(i);
+			builder.append(i == 0 ? EXTRA_PREFIX : ",").append("{\"text\":");
+			appendString(builder, message.getContent());
+			appendStyle(builder, message.getColor(), message.getStyle().getDecorationMask());
+			appendClick(builder, message.getClickEvent());
+			appendHover(builder, message.getHoverEvent());
+			builder.append('}');
+		}
+		builder.append(messages.isEmpty() ? "}" : "]}");
+	}
+	
+	public @NotNull String translate(@NotNull String source) {
+		return this.translate(source, null);
+	}
+	
+	public @NotNull String translate(@NotNull String source, @Nullable Map<String, Object> context) {
+		final @NotNull StringBuilder builder = StringBuilderPool.acquire();
+		try {
+			return this.parseInto(source, context != null ? context : Collections.emptyMap(), new JsonSink(builder));
+		} finally {
+			StringBuilderPool.release(builder);
+		}
+	}
+	
+	/**
+	 * Translates a message written by a player, see {@link #parseUntrusted(String, ParseProfile)}.
+	 */
+	public @NotNull String translateUntrusted(@NotNull String source, @NotNull ParseProfile profile) {
+		final @NotNull StringBuilder builder = StringBuilderPool.acquire();
+		try {
+			return this.parseUntrustedInto(source, profile, new JsonSink(builder));
+		} finally {
+			StringBuilderPool.release(builder);
+		}
+	}
+	
+	public @NotNull String translate(@NotNull CompiledTemplate template) {
+		return this.translate(template, (Map<String, Object>) null);
+	}
+	
+	public @NotNull String translate(@NotNull CompiledTemplate template, @Nullable Map<String, Object> context) {
+		return this.convert(this.render(template, context), TranslatorJsonAdapter::toJson);
+	}
+	
+	/**
+	 * Translates the template with the values of a placeholder context, read by index without hashing their names.
+	 */
+	public @NotNull String translate(@NotNull CompiledTemplate template, @NotNull PlaceholderContext context) {
+		return this.convert(this.render(template, context), TranslatorJsonAdapter::toJson);
+	}
+	
+	private static @NotNull String toJson(@NotNull List<Message> messages) {
+		final @NotNull StringBuilder builder = StringBuilderPool.acquire();
+		try {
+			appendMessages(builder, messages);
+			return builder.toString();
+		} finally {
+			StringBuilderPool.release(builder);
+		}
+	}
+	
+	/**
+	 * Writes JSON straight from the parser, every push becomes an object with the objects inside it as its extra.<br>
+	 * Adventure writes a component's style after its text and extra, so a push's properties are written once it's popped.
+	 */
+	private static final class JsonSink implements MessageSink<String> {
+		
+		private final @NotNull StringBuilder builder;
+		
+		/**
+		 * Properties of the open pushes, a style, a click or a hover's content, the last one is the innermost.
+		 */
+		private final @NotNull ArrayList<Object> frames = new ArrayList<>();
+		
+		/**
+		 * Whether the open objects, including the root, already have any extra.
+		 */
+		private final @NotNull ArrayList<Boolean> extra = new ArrayList<>();
+		
+		/**
+		 * Text inside a style inherits its decorations, text outside of one has all of them disabled.
+		 */
+		private boolean styled = false;
+		
+		private JsonSink(@NotNull StringBuilder builder) {
+			this.builder = builder;
+			this.builder.append(EMPTY_TEXT);
+			this.extra.add(Boolean.FALSE);
+		}
+		
+		/**
+		 * Begins an object inside the innermost one.
+		 */
+		private void open() {
+			final int last = this.extra.size() - 1;
+			if(this.extra.get(last)) {
+				this.builder.append(',');
+			} else {
+				this.builder.append(EXTRA_PREFIX);
+				this.extra.set(last, Boolean.TRUE);
+			}
+		}
+		
+		private void push(@NotNull Object frame) {
+			this.open();
+			this.builder.append(EMPTY_TEXT);
+			this.frames.add(frame);
+			this.extra.add(Boolean.FALSE);
+		}
+		
+		@Override
+		public void text(@NotNull String text) {
+			this.open();
+			this.builder.append("{\"text\":");
+			appendString(this.builder, text);
+			if(!this.styled) this.builder.append(DECORATIONS[0]);
+			this.builder.append('}');
+		}
+		
+		@Override
+		public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+			this.push(Message.Style.of(color, decorations, null, null));
+			this.styled = true;
+		}
+		
+		@Override
+		public void pushClick(@NotNull Message.Click<?> click) {
+			this.push(click);
+		}
+		
+		@Override
+		public void pushHover(@NotNull String content) {
+			this.push(content);
+		}
+		
+		@Override
+		public void pop() {
+			if(this.extra.remove(this.extra.size() - 1)) this.builder.append(']');
+			final @NotNull Object frame = this.frames.remove(this.frames.size() - 1);
+			if(frame instanceof Message.Style style) {
+				appendStyle(this.builder, style.getColor(), style.getDecorationMask());
+			} else if(frame instanceof Message.Click<?> click) {
+				appendClick(this.builder, click);
+			} else {
+				this.builder.append(HOVER_PREFIX).append((String) frame).append('}');
+			}
+			this.builder.append('}');
+			this.styled = false;
+		}
+		
+		@Override
+		public @NotNull MessageSink<String> fork() {
+			return new JsonSink(new StringBuilder());
+		}
+		
+		@Override
+		public @NotNull String result() {
+			if(this.extra.get(0)) this.builder.append(']');
+			return this.builder.append('}').toString();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,364 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of a translator, cheap enough to be left enabled.<br>
+ * All counters are {@link LongAdder}s, recording never locks and only reads sum them up, so readings taken while recording are approximate.
+ * Latencies are kept in histograms of power of two buckets, percentiles are accurate to within a factor of two.
+ * Timing costs two {@link System#nanoTime()} calls per stage, nothing is timed while the metrics are disabled.
+ */
+public final class TranslatorMetrics {
+	
+	/**
+	 * Returned by {@link #start()} while disabled, recording a stage started at it does nothing.
+	 */
+	public static final long DISABLED = Long.MIN_VALUE;
+	
+	/**
+	 * Maximum number of distinct keys tracked, renders of further keys are counted only in the totals.
+	 */
+	private static final int MAX_KEYS = 1024;
+	
+	/**
+	 * Number of histogram buckets, the last one collects every latency of 2^38 nanoseconds, about 4.5 minutes, or more.
+	 */
+	private static final int BUCKETS = 40;
+	
+	/**
+	 * If set to false, nothing is timed and no hits or misses are counted,<br>
+	 * defaults to true, may be changed dynamically.
+	 */
+	@Getter
+	@Setter
+	private volatile boolean enabled = true;
+	
+	private final @NotNull Histogram[] histograms = new Histogram[Stage.values().length];
+	private final @NotNull LongAdder[] hits       = new LongAdder[Cache.values().length];
+	private final @NotNull LongAdder[] misses     = new LongAdder[Cache.values().length];
+	
+	/**
+	 * Number of messages removed by coalescing, counted regardless of {@link #enabled}.
+	 */
+	final @NotNull LongAdder coalesced = new LongAdder();
+	
+	private final @NotNull Map<String, KeyCounter> keys = new ConcurrentHashMap<>();
+	
+	TranslatorMetrics() {
+		for(int i = 0; i < this.histograms.length; i++) {
+			this.histograms[i] = new Histogram();
+		}
+		for(int i = 0; i < this.hits.length; i++) {
+			this.hits[i]   = new LongAdder();
+			this.misses[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Returns the time to pass to {@link #record(Stage, long)}, or {@link #DISABLED}.
+	 */
+	public long start() {
+		return this.enabled ? System.nanoTime() : DISABLED;
+	}
+	
+	/**
+	 * Records the time elapsed since the start as the stage's latency.
+	 *
+	 * @param start the result of {@link #start()} or of a previous record
+	 * @return the current time, to start the next stage at, or {@link #DISABLED} if the start was
+	 */
+	public long record(@NotNull Stage stage, long start) {
+		if(start == DISABLED) return DISABLED;
+		final long now = System.nanoTime();
+		this.histograms[stage.ordinal()].add(now - start);
+		return now;
+	}
+	
+	/**
+	 * Records a render of a message key taking the time elapsed since the start.
+	 */
+	public void recordKey(@NotNull String key, long start) {
+		if(start == DISABLED) return;
+		final long elapsed = System.nanoTime() - start;
+		@Nullable KeyCounter counter = this.keys.get(key);
+		if(counter == null) {
+			if(this.keys.size() >= MAX_KEYS) return;
+			counter = this.keys.computeIfAbsent(key, k -> new KeyCounter());
+		}
+		counter.renders.increment();
+		counter.nanos.add(elapsed);
+	}
+	
+	public void hit(@NotNull Cache cache) {
+		if(this.enabled) this.hits[cache.ordinal()].increment();
+	}
+	
+	public void miss(@NotNull Cache cache) {
+		if(this.enabled) this.misses[cache.ordinal()].increment();
+	}
+	
+	public long getCount(@NotNull Stage stage) {
+		return this.histograms[stage.ordinal()].count();
+	}
+	
+	public long getTotalNanos(@NotNull Stage stage) {
+		return this.histograms[stage.ordinal()].total.sum();
+	}
+	
+	/**
+	 * Returns an upper bound of the stage's latency at the percentile, 0 if nothing was recorded.
+	 *
+	 * @param percentile between 0 and 1, e.g. 0.99
+	 */
+	public long getPercentileNanos(@NotNull Stage stage, double percentile) {
+		return this.histograms[stage.ordinal()].percentile(percentile);
+	}
+	
+	public long getHits(@NotNull Cache cache) {
+		return this.hits[cache.ordinal()].sum();
+	}
+	
+	public long getMisses(@NotNull Cache cache) {
+		return this.misses[cache.ordinal()].sum();
+	}
+	
+	/**
+	 * Returns the share of lookups that hit the cache, NaN if there were none.
+	 */
+	public double getHitRatio(@NotNull Cache cache) {
+		final long hits  = this.getHits(cache);
+		final long total = hits + this.getMisses(cache);
+		return total == 0 ? Double.NaN : (double) hits / total;
+	}
+	
+	/**
+	 * Returns the number of messages removed by coalescing, see {@link MessageTranslator#setCoalescing(boolean)}.
+	 */
+	public long getCoalescedMessages() {
+		return this.coalesced.sum();
+	}
+	
+	/**
+	 * Returns the keys rendered the most, ordered by their render count or their total render time.
+	 *
+	 * @param limit  maximum number of keys
+	 * @param byTime whether to order by the total time instead of the count
+	 */
+	public @NotNull List<KeyReport> getTopKeys(int limit, boolean byTime) {
+		final @NotNull List<KeyReport> reports = new ArrayList<>(this.keys.size());
+		this.keys.forEach((key, counter) -> reports.add(new KeyReport(key, counter.renders.sum(), counter.nanos.sum())));
+		reports.sort(byTime ?
+		             Comparator.comparingLong(KeyReport::getTotalNanos).reversed() :
+		             Comparator.comparingLong(KeyReport::getRenders).reversed());
+		return reports.size() > limit ? List.copyOf(reports.subList(0, limit)) : reports;
+	}
+	
+	/**
+	 * Clears all counters except the coalesced messages.
+	 */
+	public void reset() {
+		for(final @NotNull Histogram histogram : this.histograms) {
+			histogram.reset();
+		}
+		for(int i = 0; i < this.hits.length; i++) {
+			this.hits[i].reset();
+			this.misses[i].reset();
+		}
+		this.keys.clear();
+	}
+	
+	/**
+	 * Describes all metrics in a few lines of text, e.g. for a timings command.
+	 *
+	 * @param topKeys number of keys to list by their count and by their total time
+	 */
+	public @NotNull String dump(int topKeys) {
+		final @NotNull StringBuilder builder = new StringBuilder("Translator metrics");
+		for(final @NotNull Stage stage : Stage.values()) {
+			final long count = this.getCount(stage);
+			if(count == 0) continue;
+			builder.append(String.format(
+				"%n  %-12s %10d calls, %10.3f ms total, avg %8.2f us, p50 < %8.2f us, p99 < %8.2f us",
+				stage.name().toLowerCase(Locale.ROOT),
+				count,
+				this.getTotalNanos(stage) / 1e6,
+				this.getTotalNanos(stage) / 1e3 / count,
+				this.getPercentileNanos(stage, 0.5) / 1e3,
+				this.getPercentileNanos(stage, 0.99) / 1e3
+			));
+		}
+		for(final @NotNull Cache cache : Cache.values()) {
+			final long hits   = this.getHits(cache);
+			final long misses = this.getMisses(cache);
+			if(hits + misses == 0) continue;
+			builder.append(String.format("%n  %-16s %10d hits, %10d misses, %6.2f%%", cache.name().toLowerCase(Locale.ROOT), hits, misses, this.getHitRatio(cache) * 100));
+		}
+		builder.append(String.format("%n  coalesced messages %d", this.getCoalescedMessages()));
+		if(topKeys > 0 && !this.keys.isEmpty()) {
+			builder.append(String.format("%n  top keys by count:"));
+			for(final @NotNull KeyReport report : this.getTopKeys(topKeys, false)) {
+				builder.append(String.format("%n    %-40s %10d renders, %10.3f ms", report.getKey(), report.getRenders(), report.getTotalNanos() / 1e6));
+			}
+			builder.append(String.format("%n  top keys by time:"));
+			for(final @NotNull KeyReport report : this.getTopKeys(topKeys, true)) {
+				builder.append(String.format("%n    %-40s %10d renders, %10.3f ms", report.getKey(), report.getRenders(), report.getTotalNanos() / 1e6));
+			}
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Timed stages of a translation.<br>
+	 * When a message is parsed straight into a sink, e.g. a component, its conversion is timed as part of parsing.
+	 */
+	public enum Stage {
+		
+		/**
+		 * Substituting placeholders of a message before it's parsed.
+		 */
+		SUBSTITUTION,
+		
+		PARSE,
+		
+		COMPILE,
+		
+		/**
+		 * Filling a compiled template's slots.
+		 */
+		RENDER,
+		
+		/**
+		 * Converting parsed or rendered messages into the platform's components.
+		 */
+		CONVERSION
+		
+	}
+	
+	public enum Cache {
+		
+		/**
+		 * Translated configuration messages without placeholders.
+		 */
+		STATIC_MESSAGES,
+		
+		/**
+		 * Compiled configuration messages with placeholders.
+		 */
+		TEMPLATES,
+		
+		/**
+		 * Hovers without placeholders shared between compiled templates.
+		 */
+		HOVERS
+		
+	}
+	
+	/**
+	 * Renders of a single key.
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class KeyReport {
+		
+		private final @NotNull String key;
+		private final          long   renders;
+		private final          long   totalNanos;
+		
+	}
+	
+	private static final class KeyCounter {
+		
+		private final @NotNull LongAdder renders = new LongAdder();
+		private final @NotNull LongAdder nanos   = new LongAdder();
+		
+	}
+	
+	/**
+	 * Latencies counted in buckets by their bit length, bucket n holds latencies below 2^n nanoseconds.
+	 */
+	private static final class Histogram {
+		
+		private final @NotNull LongAdder[] buckets = new LongAdder[BUCKETS];
+		private final @NotNull LongAdder   total   = new LongAdder();
+		
+		private Histogram() {
+			for(int i = 0; i < this.buckets.length; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+		
+		private void add(long nanos) {
+			final long clamped = Math.max(0, nanos);
+			this.buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(clamped))].increment();
+			this.total.add(clamped);
+		}
+		
+		private long count() {
+			long count = 0;
+			for(final @NotNull LongAdder bucket : this.buckets) {
+				count += bucket.sum();
+			}
+			return count;
+		}
+		
+		private long percentile(double percentile) {
+			final long[] counts = new long[BUCKETS];
+			long         count  = 0;
+			for(int i = 0; i < BUCKETS; i++) {
+				counts[i] = this.buckets[i].sum();
+				count += counts[i];
+			}
+			if(count == 0) return 0;
+			final long rank       = (long) Math.ceil(percentile * count);
+			long       cumulative = 0;
+			for(int i = 0; i < BUCKETS; i++) {
+				cumulative += counts[i];
+				if(cumulative >= rank) return 1L << i;
+			}
+			return 1L << (BUCKETS - 1);
+		}
+		
+		private void reset() {
+			for(final @NotNull LongAdder bucket : this.buckets) {
+				bucket.reset();
+			}
+			this.total.reset();
+		}
+		
+	}
+	
+}
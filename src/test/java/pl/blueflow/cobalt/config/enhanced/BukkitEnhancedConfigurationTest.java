@@ -0,0 +1,177 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.config.enhanced;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import pl.blueflow.cobalt.message.MessageDiagnostic;
+import pl.blueflow.cobalt.message.TranslatorBukkitAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class BukkitEnhancedConfigurationTest {
+	
+	private static final @NotNull String MESSAGES = """
+		messages:
+		  banner: "@{red}Welcome to @{#51d51d:bold}Cobalt@{}!"
+		  greeting: "@{green}Hello, ${player}!"
+		  colored: "@{${color}}Hello, ${player}!"
+		  pages: "#{page:${page}}@{gold}Next page{/#}"
+		  pair: "@{aqua}${a}-${b}"
+		broken:
+		  style: "@{unknown}Hello"
+		  page: "#{page:next}Next page{/#}"
+		""";
+	
+	private final @NotNull TranslatorBukkitAdapter     translator = new TranslatorBukkitAdapter();
+	private final @NotNull BukkitEnhancedConfiguration config;
+	
+	public BukkitEnhancedConfigurationTest() {
+		//noinspection ConstantConditions
+		this.config = new BukkitEnhancedConfiguration(null, stream(MESSAGES), stream(MESSAGES));
+	}
+	
+	private static @NotNull InputStream stream(@NotNull String contents) {
+		return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testStaticMessage() {
+		final @NotNull  Component expected = this.translator.translate("@{red}Welcome to @{#51d51d:bold}Cobalt@{}!");
+		final @Nullable Component first    = this.config.getMessage("messages.banner");
+		assertEquals(expected, first);
+		assertSame(first, this.config.getMessage("messages.banner", Map.of("player", "Notch")));
+		assertEquals(GsonComponentSerializer.gson().serialize(expected), this.config.getMessageJson("messages.banner"));
+	}
+	
+	@Test
+	public void testMessageWithPlaceholders() {
+		final @Nullable Component first = this.config.getMessage("messages.greeting", Map.of("player", "Notch"));
+		assertEquals(this.translator.translate("@{green}Hello, Notch!"), first);
+		assertNotSame(first, this.config.getMessage("messages.greeting", Map.of("player", "Notch")));
+		assertEquals(this.translator.translate("@{green}Hello, Jeb!"), this.config.getMessage("messages.greeting", Map.of("player", "Jeb")));
+	}
+	
+	@Test
+	public void testPrecompiledStaticMessage() {
+		assertTrue(this.config.precompileMessages(List.of("messages")).isEmpty());
+		final @NotNull Component expected = this.translator.translate("@{red}Welcome to @{#51d51d:bold}Cobalt@{}!");
+		assertEquals(GsonComponentSerializer.gson().serialize(expected), this.config.getMessageJson("messages.banner"));
+		assertEquals(expected, this.config.getMessage("messages.banner"));
+	}
+	
+	@Test
+	public void testPrecompilePlaceholdersInTags() {
+		assertTrue(this.config.precompileMessages(List.of("messages")).isEmpty());
+		assertEquals(this.translator.translate("@{red}Hello, Steve!"), this.config.getMessage("messages.colored", Map.of("color", "red", "player", "Steve")));
+		assertEquals(this.translator.translate("#{page:2}@{gold}Next page{/#}"), this.config.getMessage("messages.pages", Map.of("page", 2)));
+		
+		final @NotNull Map<String, List<MessageDiagnostic>> report = this.config.precompileMessages(List.of("broken"));
+		assertEquals(Set.of("broken.style", "broken.page"), report.keySet());
+		assertEquals(MessageDiagnostic.Kind.UNKNOWN_STYLE_MODIFIER, report.get("broken.style").get(0).getKind());
+		assertEquals(MessageDiagnostic.Kind.INVALID_PAGE_NUMBER, report.get("broken.page").get(0).getKind());
+	}
+	
+	@Test
+	public void testStaticMessageEviction() {
+		for(int i = 0; i < BukkitEnhancedConfiguration.STATIC_MESSAGE_CACHE_SIZE * 2; i++) {
+			assertEquals(this.translator.translate("@{gold:underline}Page " + i), this.config.getMessage("messages.missing", null, "@{gold:underline}Page " + i));
+		}
+		assertEquals(this.translator.translate("@{red}Welcome to @{#51d51d:bold}Cobalt@{}!"), this.config.getMessage("messages.banner"));
+	}
+	
+	@Test
+	public void testStaticMessageAfterSet() {
+		assertEquals(this.translator.translate("@{red}Welcome to @{#51d51d:bold}Cobalt@{}!"), this.config.getMessage("messages.banner"));
+		this.config.set("messages.banner", "@{blue:italic}Goodbye");
+		assertEquals(this.translator.translate("@{blue:italic}Goodbye"), this.config.getMessage("messages.banner"));
+		assertEquals(GsonComponentSerializer.gson().serialize(this.translator.translate("@{blue:italic}Goodbye")), this.config.getMessageJson("messages.banner"));
+	}
+		@Test
+	@SuppressWarnings("deprecation")
+	public void testDefaultContextView() {
+		final @NotNull Map<String, Object> view = this.config.getDefaultContext();
+		view.put("player", "Steve");
+		assertEquals(this.translator.translate("@{green}Hello, Steve!"), this.config.getMessage("messages.greeting"));
+		assertEquals(this.translator.translate("@{green}Hello, Alex!"), this.config.getMessage("messages.greeting", Map.of("player", "Alex")));
+		assertEquals(Map.of("player", "Steve"), this.config.getDefaultContextSnapshot());
+		
+		assertEquals("Steve", view.put("player", null));
+		assertNull(view.get("player"));
+		assertEquals(Map.of(), this.config.getDefaultContextSnapshot());
+		
+		final @NotNull Map<String, Object> context = new HashMap<>();
+		context.put("a", 1);
+		context.put("b", null);
+		this.config.setDefaultContext(context);
+		assertEquals(Map.of("a", 1), this.config.getDefaultContextSnapshot());
+		view.clear();
+		assertEquals(Map.of(), this.config.getDefaultContextSnapshot());
+	}
+	
+	@Test
+	public void testConcurrentDefaultContext() throws InterruptedException {
+		final @NotNull AtomicBoolean              running = new AtomicBoolean(true);
+		final @NotNull AtomicReference<Throwable> failure = new AtomicReference<>();
+		final @NotNull Thread                     writer  = new Thread(() -> {
+			try {
+				for(int i = 0; running.get(); i++) {
+					this.config.setDefaultContext(Map.of("a", i, "b", i));
+					this.config.putDefaultContext("c", i);
+				}
+			} catch(Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		this.config.setDefaultContext(Map.of("a", 0, "b", 0));
+		writer.start();
+		try {
+			for(int i = 0; i < 10_000; i++) {
+				final @NotNull String[] pair = PlainTextComponentSerializer.plainText().serialize(this.config.getMessage("messages.pair")).split("-");
+				assertEquals(pair[0], pair[1]);
+			}
+		} finally {
+			running.set(false);
+			writer.join();
+		}
+		assertNull(failure.get());
+	}
+	
+}
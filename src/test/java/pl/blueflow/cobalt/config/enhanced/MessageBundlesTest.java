@@ -0,0 +1,107 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.config.enhanced;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.blueflow.cobalt.message.MessageDiagnostic;
+import pl.blueflow.cobalt.message.TranslatorBukkitAdapter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class MessageBundlesTest {
+	
+	private static final @NotNull Locale POLISH = new Locale("pl", "PL");
+	
+	private final @NotNull TranslatorBukkitAdapter                           translator = new TranslatorBukkitAdapter();
+	private final @NotNull List<Runnable>                                    tasks      = new ArrayList<>();
+	private final @NotNull Map<String, Map<String, List<MessageDiagnostic>>> reports    = new ConcurrentHashMap<>();
+	
+	private @NotNull MessageBundles bundles(@NotNull Path directory, @NotNull Duration idleTimeout) {
+		return new MessageBundles(directory.toFile(), this.getClass(), "bundle", Locale.ENGLISH, idleTimeout, List.of("greeting", "broken"), this.tasks::add, this.reports::put);
+	}
+	
+	@Test
+	public void testResolve(@TempDir Path directory) {
+		final @NotNull MessageBundles bundles = this.bundles(directory, Duration.ofHours(1));
+		assertEquals(List.of("bundle_pl_PL", "bundle_pl", "bundle_en", "bundle"), bundles.resolve(POLISH));
+		assertEquals(List.of("bundle_pl", "bundle_en", "bundle"), bundles.resolve(new Locale("pl")));
+		assertEquals(List.of("bundle_en", "bundle"), bundles.resolve(Locale.GERMANY));
+		assertEquals(List.of("bundle_en", "bundle"), bundles.resolve(Locale.ENGLISH));
+	}
+	
+	@Test
+	public void testFallback(@TempDir Path directory) {
+		final @NotNull MessageBundles              bundles  = this.bundles(directory, Duration.ofHours(1));
+		final @NotNull MessageAccessors<Component> messages = bundles.forLocale(POLISH);
+		assertEquals(this.translator.translate("@{green:bold}Dzien dobry"), messages.getMessage("greeting"));
+		assertEquals(this.translator.translate("@{red}Bye"), messages.getMessage("farewell"));
+		assertEquals(this.translator.translate("@{gray}Base"), messages.getMessage("base"));
+		assertEquals(this.translator.translate("@{green}Witaj"), bundles.forLocale(new Locale("pl")).getMessage("greeting"));
+		assertEquals(this.translator.translate("@{green}Hello"), bundles.forLocale(Locale.GERMANY).getMessage("greeting"));
+		assertEquals(this.translator.translate("@{gray}Missing"), messages.getMessage("missing", null, "@{gray}Missing"));
+		assertTrue(directory.resolve("bundle_pl_PL.yml").toFile().isFile());
+	}
+	
+	@Test
+	public void testPrecompile(@TempDir Path directory) {
+		final @NotNull MessageBundles bundles = this.bundles(directory, Duration.ofHours(1));
+		bundles.preload(List.of(POLISH));
+		assertEquals(4, bundles.getLoadedCount());
+		assertEquals(4, this.tasks.size());
+		assertTrue(this.reports.isEmpty());
+		
+		this.tasks.forEach(Runnable::run);
+		assertEquals(Set.of("bundle_pl.yml"), this.reports.keySet());
+		assertEquals(Set.of("broken"), this.reports.get("bundle_pl.yml").keySet());
+	}
+	
+	@Test
+	public void testEvictIdle(@TempDir Path directory) throws InterruptedException {
+		final @NotNull MessageBundles idle = this.bundles(directory, Duration.ZERO);
+		idle.forLocale(POLISH);
+		assertEquals(4, idle.getLoadedCount());
+		Thread.sleep(1);
+		idle.evictIdle();
+		assertEquals(0, idle.getLoadedCount());
+		assertEquals(this.translator.translate("@{green}Witaj"), idle.forLocale(new Locale("pl")).getMessage("greeting"));
+		assertEquals(3, idle.getLoadedCount());
+		
+		final @NotNull MessageBundles used = this.bundles(directory, Duration.ofHours(1));
+		used.forLocale(POLISH);
+		used.evictIdle();
+		assertEquals(4, used.getLoadedCount());
+	}
+	
+}
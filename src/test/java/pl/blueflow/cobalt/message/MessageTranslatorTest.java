@@ -21,13 +21,32 @@
 
 package pl.blueflow.cobalt.message;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class MessageTranslatorTest {
 	
@@ -118,6 +137,37 @@ public class MessageTranslatorTest {
 		assertSame(Message.Color.fromHexString("#abcdef"), Message.Color.fromHexString("#abcdef"));
 	}
 	
+	@Test
+	public void colorConcurrency() throws InterruptedException {
+		final @NotNull CountDownLatch start = new CountDownLatch(1);
+		final @NotNull AtomicReference<Throwable> failure = new AtomicReference<>();
+		final @NotNull List<Thread> threads = new ArrayList<>();
+		for(int t = 0; t < Math.max(4, Runtime.getRuntime().availableProcessors()); t++) {
+			final int seed = t;
+			final @NotNull Thread thread = new Thread(() -> {
+				final @NotNull Random random = new Random(seed);
+				try {
+					start.await();
+					for(int i = 0; i < 200_000; i++) {
+						final int value = random.nextInt(1 << 24);
+						assertEquals(value, Message.Color.color(value).getValue());
+						assertEquals(Message.Color.color(value), Message.Color.color(value));
+						assertSame(Message.Color.RED, Message.Color.color(0xff5555));
+					}
+				} catch(Throwable ex) {
+					failure.compareAndSet(null, ex);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for(final @NotNull Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure.get());
+	}
+	
 	@Test
 	public void decoration() {
 		assertEquals(
@@ -221,6 +271,202 @@ public class MessageTranslatorTest {
 		);
 	}
 	
+	@Test
+	public void sequentialActions() {
+		assertEquals(
+			List.of(
+				Message.builder().content("First").clickEvent(Message.Click.openUrl("https://example.com/1")).build(),
+				Message.builder().content(" and ").build(),
+				Message.builder().content("Second").clickEvent(Message.Click.openUrl("https://example.com/2")).build()
+			),
+			this.translator.parse("#{link:https://example.com/1}First{/#} and #{link:https://example.com/2}Second{/#}")
+		);
+	}
+	
+	@Test
+	public void parenthesisInLink() {
+		assertEquals(
+			List.of(
+				Message.builder().content("Hello (World)").clickEvent(Message.Click.openUrl("https://example.com")).build()
+			),
+			this.translator.parse("#{link:https://example.com}Hello (World){/#}")
+		);
+	}
+	
+	@Test
+	public void unknownAction() {
+		assertThrows(MessageFormattingException.class, () -> this.translator.parse("#{unknown:value}Hello{/#}"));
+	}
+	
+	@Test
+	public void deepNesting() {
+		final @NotNull StringBuilder source = new StringBuilder();
+		for(int i = 0; i < 1000; i++) source.append("#{link:https://example.com}");
+		source.append("Deep");
+		for(int i = 0; i < 1000; i++) source.append("{/#}");
+		assertEquals(
+			List.of(Message.builder().content("Deep").clickEvent(Message.Click.openUrl("https://example.com")).build()),
+			this.translator.parse(source.toString())
+		);
+	}
+	
+	@Test
+	public void untrustedColors() {
+		assertEquals(
+			List.of(
+				Message.builder().content("Hello, ").color(Message.Color.RED).build(),
+				Message.builder().content("#{link:https://example.com}${player}{/#}").build()
+			),
+			this.translator.parseUntrusted("@{red}Hello, @{}#{link:https://example.com}${player}{/#}", ParseProfile.CHAT)
+		);
+	}
+	
+	@Test
+	public void untrustedForbiddenDecoration() {
+		assertEquals(
+			List.of(Message.builder().content("@{red:bold}Hello").build()),
+			this.translator.parseUntrusted("@{red:bold}Hello", ParseProfile.CHAT)
+		);
+	}
+	
+	@Test
+	public void untrustedLimits() {
+		assertThrows(MessageFormattingException.class, () -> this.translator.parseUntrusted("a".repeat(257), ParseProfile.CHAT));
+		assertEquals(
+			List.of(Message.builder().content("@{red}").color(Message.Color.RED).build()),
+			this.translator.parseUntrusted("@{red}".repeat(17), ParseProfile.CHAT)
+		);
+		
+		final @NotNull ParseProfile flat = ParseProfile.builder().maxDepth(1).build();
+		assertEquals(1, this.translator.parseUntrusted("#{link:https://example.com}Link{/#}", flat).size());
+		assertThrows(MessageFormattingException.class, () -> this.translator.parseUntrusted("#{link:https://example.com}#{copy:Hi}Link{/#}{/#}", flat));
+	}
+	
+	@Test
+	public void tryParse() {
+		final @NotNull ParseResult result = this.translator.tryParse("@{red}Hello, @{unknown}${player}", Map.of("player", "World"), ParseProfile.TRUSTED);
+		assertFalse(result.isParsed());
+		assertEquals(1, result.getDiagnostics().size());
+		assertEquals(MessageDiagnostic.Kind.UNKNOWN_STYLE_MODIFIER, result.getDiagnostics().get(0).getKind());
+		assertEquals("@{unknown}", result.getDiagnostics().get(0).getFragment());
+	}
+	
+	@Test
+	public void tryParseProviders() {
+		final @NotNull MessageTranslator translator = new MessageTranslator();
+		translator.getProviders().register(PlaceholderProvider.ofStatic("server", () -> "Lobby"));
+		final @NotNull ParseResult result = translator.tryParse("@{red}Hello, ${player} on ${server}", Map.of("player", "Steve"), ParseProfile.TRUSTED);
+		assertTrue(result.isParsed());
+		assertEquals(List.of(), result.getDiagnostics());
+		assertEquals(List.of(Message.builder().content("Hello, Steve on Lobby").color(Message.Color.RED).build()), result.getMessages());
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.UNDEFINED_PLACEHOLDER),
+			translator.tryParse("${server} ${world}", Map.of(), ParseProfile.TRUSTED).getDiagnostics().stream().map(MessageDiagnostic::getKind).toList()
+		);
+	}
+	
+	@Test
+	public void tryParseLenient() {
+		final @NotNull ParseResult result = this.translator.tryParse(
+			"@{red}Hello, ${player} #{link:https://example.com}World",
+			Map.of(),
+			ParseProfile.builder().lenient(true).build()
+		);
+		assertEquals(
+			List.of(
+				Message.builder().content("Hello, ${player} ").color(Message.Color.RED).build(),
+				Message.builder().content("World").clickEvent(Message.Click.openUrl("https://example.com")).build()
+			),
+			result.getMessages()
+		);
+		assertEquals(2, result.getDiagnostics().size());
+		assertEquals(MessageDiagnostic.Kind.UNDEFINED_PLACEHOLDER, result.getDiagnostics().get(0).getKind());
+		assertEquals(MessageDiagnostic.Kind.MISSING_ACTION_END, result.getDiagnostics().get(1).getKind());
+	}
+	
+	@Test
+	public void validate() {
+		assertEquals(List.of(), this.translator.validate("@{red}Hello, ${player}!", ParseProfile.TRUSTED));
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.UNKNOWN_ACTION, MessageDiagnostic.Kind.MISSING_STYLE_SUFFIX),
+			this.translator
+				.validate("#{unknown:value}Hello{/#} @{red World", ParseProfile.builder().lenient(true).build())
+				.stream()
+				.map(MessageDiagnostic::getKind)
+				.toList()
+		);
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.UNSUPPORTED_ACTION),
+			this.translator.validate("#{item:x}a{/#}", ParseProfile.TRUSTED).stream().map(MessageDiagnostic::getKind).toList()
+		);
+		assertThrows(MessageFormattingException.class, () -> this.translator.parse("#{item:x}a{/#}"));
+	}
+	
+	@Test
+	public void validateTemplate() {
+		final @NotNull ParseProfile lenient = ParseProfile.builder().lenient(true).build();
+		assertEquals(List.of(), this.translator.validateTemplate("@{red}Hello, ${player}! #{suggest:/msg ${player} }Reply{/#}", ParseProfile.TRUSTED));
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG, MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG),
+			this.translator.validateTemplate("@{${color}}Hello #{page:${n}}Next{/#}", lenient).stream().map(MessageDiagnostic::getKind).toList()
+		);
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.UNKNOWN_STYLE_MODIFIER, MessageDiagnostic.Kind.INVALID_PAGE_NUMBER),
+			this.translator.validate("@{${color}}Hello #{page:${n}}Next{/#}", lenient).stream().map(MessageDiagnostic::getKind).toList()
+		);
+		assertEquals(
+			List.of(MessageDiagnostic.Kind.PLACEHOLDER_IN_TAG, MessageDiagnostic.Kind.UNKNOWN_STYLE_MODIFIER),
+			this.translator.validateTemplate("@{${color}}Hello @{unknown}World", lenient).stream().map(MessageDiagnostic::getKind).toList()
+		);
+	}
+	
+	@Test
+	public void sink() {
+		final @NotNull List<String> events = new ArrayList<>();
+		final @NotNull MessageSink<List<String>> sink = new MessageSink<>() {
+			
+			@Override
+			public void text(@NotNull String text) {
+				events.add(text);
+			}
+			
+			@Override
+			public void pushStyle(Message.Color color, @NotNull List<Message.Decoration> decorations) {
+				events.add("style");
+			}
+			
+			@Override
+			public void pushClick(@NotNull Message.Click<?> click) {
+				events.add("click");
+			}
+			
+			@Override
+			public void pushHover(@NotNull List<String> content) {
+				events.add("hover" + content);
+			}
+			
+			@Override
+			public void pop() {
+				events.add("pop");
+			}
+			
+			@Override
+			public @NotNull MessageSink<List<String>> fork() {
+				return this;
+			}
+			
+			@Override
+			public @NotNull List<String> result() {
+				return events;
+			}
+			
+		};
+		assertEquals(
+			List.of("Hi ", "style", "red", "pop", "click", "style", "link", "pop", "pop", "!"),
+			this.translator.parseInto("Hi @{red}red#{link:https://example.com}@{bold}link{/#}!", Map.of(), sink)
+		);
+	}
+	
 	@Test
 	public void rawEscape() {
 		assertEquals("$${variable} @@{color} ##{action} (parenthesis)", this.translator.escape("${variable} @{color} #{action} (parenthesis)"));
@@ -233,4 +479,386 @@ public class MessageTranslatorTest {
 		assertEquals("${variable} @{color} #{action} (parenthesis)", MessageTranslator.stripEscapesHover("${variable} @{color} #{action} (parenthesis\\)"));
 	}
 	
+	@Test
+	public void compiledPlaceholder() {
+		final @NotNull CompiledTemplate template = this.translator.compile("@{red}Hello, ${hello}!");
+		assertEquals(
+			List.of(Message.builder().content("Hello, World!").color(Message.Color.RED).build()),
+			template.render(Map.of("hello", "World"))
+		);
+		assertEquals(
+			List.of(Message.builder().content("Hello, Cobalt!").color(Message.Color.RED).build()),
+			template.render(Map.of("hello", "Cobalt"))
+		);
+	}
+	
+	@Test
+	public void compiledPlaceholderIsLiteral() {
+		assertEquals(
+			List.of(Message.builder().content("Hello, @{blue}#{link:x}World{/#}!").color(Message.Color.RED).build()),
+			this.translator.compile("@{red}Hello, ${hello}!").render(Map.of("hello", "@{blue}#{link:x}World{/#}"))
+		);
+	}
+	
+	@Test
+	public void compiledPlaceholderEscapeAndDefault() {
+		assertEquals(
+			List.of(Message.builder().content("${hello} World").build()),
+			this.translator.compile("$${hello} ${world:World}").render()
+		);
+	}
+	
+	@Test
+	public void compiledMissingPlaceholder() {
+		assertThrows(IllegalArgumentException.class, () -> this.translator.compile("Hello, ${hello}!").render());
+	}
+	
+	@Test
+	public void compiledActions() {
+		assertEquals(
+			List.of(
+				Message
+					.builder()
+					.content("Steve")
+					.clickEvent(Message.Click.suggestCommand("/msg Steve "))
+					.hoverEvent(Message.Hover.showText(List.of(Message.builder().content("Message Steve").color(Message.Color.GRAY).build())))
+					.build()
+			),
+			this.translator
+				.compile("#{text:(@{gray}Message ${player})}#{suggest:/msg ${player} }${player}{/#}{/#}")
+				.render(Map.of("player", "Steve"))
+		);
+	}
+	
+	@Test
+	public void compiledStatic() {
+		final @NotNull CompiledTemplate template = this.translator.compile("#{text:(@{red}Hi there!)}@{bold}Hello, World!{/#}");
+		assertTrue(template.isStatic());
+		assertSame(template.render(), template.render());
+		assertEquals(this.translator.parse(template.getSource()), template.render());
+	}
+	
+	@Test
+	public void coalescing() {
+		final @NotNull List<Message> expected = List.of(
+			Message.builder().content("Hello, World").color(Message.Color.RED).build(),
+			Message.builder().content("!").build()
+		);
+		final @NotNull String source = "@{red}Hello, @{red}World@{blue}@{}!";
+		assertEquals(expected, this.translator.parse(source));
+		assertEquals(expected, this.translator.compile(source).render());
+		assertTrue(this.translator.getCoalescedMessages() >= 4);
+		
+		this.translator.setCoalescing(false);
+		assertEquals(4, this.translator.parse(source).size());
+	}
+	
+	@Test
+	public void coalescingDecorationOrder() {
+		final @NotNull String        source   = "@{red:bold:italic}Hello, @{red:italic:bold}World!";
+		final @NotNull List<Message> messages = this.translator.parse(source);
+		assertEquals(1, messages.size());
+		assertEquals("Hello, World!", messages.get(0).getContent());
+		assertEquals(Set.of(Message.Decoration.BOLD, Message.Decoration.ITALIC), messages.get(0).getDecorations());
+		assertEquals(messages, this.translator.compile(source).render());
+	}
+	
+	@Test
+	public void sharedStyle() {
+		final @NotNull List<Message> messages = this.translator.parse("@{red:bold}Damage: @{gray}12 @{red:bold}Speed: @{gray}1.6");
+		assertSame(messages.get(0).getStyle(), messages.get(2).getStyle());
+		assertSame(messages.get(1).getStyle(), messages.get(3).getStyle());
+		assertTrue(messages.get(0).hasDecoration(Message.Decoration.BOLD));
+		assertFalse(messages.get(1).hasDecoration(Message.Decoration.BOLD));
+		assertEquals(Set.of(Message.Decoration.BOLD), messages.get(0).getDecorations());
+		assertEquals(
+			Message.builder().content("a").color(Message.Color.RED).decorate(Message.Decoration.ITALIC).build(),
+			Message.builder().content("a").style(Message.Style.of(Message.Color.RED, List.of(Message.Decoration.ITALIC), null, null)).build()
+		);
+	}
+	
+	@Test
+	public void interned() {
+		final @NotNull List<Message> first  = this.translator.compile("@{gray}[@{aqua}Shop@{gray}] @{green}Saved.").render(Map.of());
+		final @NotNull List<Message> second = this.translator.compile("@{gray}[@{aqua}Shop@{gray}] @{green}Saved.").render(Map.of());
+		assertSame(first, second);
+		final @NotNull List<Message> dynamic = this.translator.compile("@{gray}[@{aqua}Shop@{gray}] @{green}${item} sold.").render(Map.of("item", "Apple"));
+		assertSame(first.get(1), dynamic.get(1));
+		assertEquals("Apple sold.", dynamic.get(3).getContent());
+	}
+	
+	@Test
+	public void metrics() {
+		final @NotNull MessageTranslator translator = new MessageTranslator();
+		final @NotNull TranslatorMetrics metrics    = translator.getMetrics();
+		translator.parse("@{red}Hello, ${name}!", Map.of("name", "Steve"));
+		translator.compile("#{text:(@{gray}Tip)}a{/#} #{text:(@{gray}Tip)}b{/#}");
+		assertEquals(1, metrics.getCount(TranslatorMetrics.Stage.SUBSTITUTION));
+		assertEquals(1, metrics.getCount(TranslatorMetrics.Stage.PARSE));
+		assertEquals(1, metrics.getCount(TranslatorMetrics.Stage.COMPILE));
+		assertEquals(0.5, metrics.getHitRatio(TranslatorMetrics.Cache.HOVERS));
+		assertTrue(metrics.getPercentileNanos(TranslatorMetrics.Stage.PARSE, 0.99) >= metrics.getTotalNanos(TranslatorMetrics.Stage.PARSE));
+		
+		metrics.recordKey("greeting", metrics.start());
+		metrics.recordKey("greeting", metrics.start());
+		metrics.recordKey("farewell", metrics.start());
+		assertEquals("greeting", metrics.getTopKeys(1, false).get(0).getKey());
+		assertEquals(2, metrics.getTopKeys(1, false).get(0).getRenders());
+		assertTrue(metrics.dump(5).contains("greeting"));
+		
+		metrics.setEnabled(false);
+		translator.parse("Hello");
+		assertEquals(1, metrics.getCount(TranslatorMetrics.Stage.PARSE));
+		metrics.reset();
+		assertEquals(0, metrics.getCount(TranslatorMetrics.Stage.PARSE));
+	}
+	
+	@Test
+	public void flightRecorder() throws IOException {
+		final @NotNull Path file = Files.createTempFile("cobalt", ".jfr");
+		try(final @NotNull Recording recording = new Recording()) {
+			recording.enable("pl.blueflow.cobalt.MessageParse");
+			recording.enable("pl.blueflow.cobalt.MessageRender");
+			recording.start();
+			this.translator.parse("@{red}Hello, ${name}!", Map.of("name", "Steve"));
+			this.translator.compile("@{gray}Static").render();
+			recording.stop();
+			recording.dump(file);
+			
+			final @NotNull List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			final @NotNull RecordedEvent parse = events.stream().filter(e -> e.getEventType().getName().equals("pl.blueflow.cobalt.MessageParse")).findFirst().orElseThrow();
+			final @NotNull RecordedEvent render = events.stream().filter(e -> e.getEventType().getName().equals("pl.blueflow.cobalt.MessageRender")).findFirst().orElseThrow();
+			assertEquals("@{red}Hello, Steve!".length(), parse.getInt("sourceLength"));
+			assertEquals(1, parse.getInt("segments"));
+			assertEquals(1, render.getInt("segments"));
+			assertTrue(render.getBoolean("cached"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	public void lazyPlaceholders() {
+		final @NotNull AtomicInteger       balance = new AtomicInteger();
+		final @NotNull AtomicInteger       ping    = new AtomicInteger();
+		final @NotNull Map<String, Object> context = Map.of(
+			"balance", (Supplier<Integer>) () -> 100 + balance.getAndIncrement(),
+			"ping", (Supplier<Integer>) () -> ping.incrementAndGet()
+		);
+		
+		assertEquals("100 / 100", this.translator.parse("${balance} / ${balance}", context).get(0).getContent());
+		assertEquals(1, balance.get());
+		assertEquals("101 / 101", this.translator.compile("${balance} / ${balance}").render(context).get(0).getContent());
+		assertEquals(2, balance.get());
+		assertEquals(0, ping.get());
+	}
+	
+	@Test
+	public void placeholderContext() {
+		final @NotNull PlaceholderKey<Integer> amount  = PlaceholderKey.of("amount");
+		final @NotNull PlaceholderKey<Double>  balance = PlaceholderKey.of("balance");
+		assertSame(amount, PlaceholderKey.of("amount"));
+		
+		final @NotNull CompiledTemplate   template = this.translator.compile("${player:Someone} paid ${amount}, balance ${balance}");
+		final @NotNull PlaceholderContext context  = new PlaceholderContext().setInt(amount, 12).setDouble(balance, 1.5);
+		assertEquals("Someone paid 12, balance 1.5", template.render(context).get(0).getContent());
+		assertEquals(12, context.get(amount));
+		
+		final @NotNull AtomicInteger computed = new AtomicInteger();
+		context.setLazy(balance, () -> (double) computed.incrementAndGet());
+		assertEquals("Someone paid 12, balance 1.0", template.render(context).get(0).getContent());
+		assertEquals("Someone paid 12, balance 1.0", template.render(context).get(0).getContent());
+		assertEquals(1, computed.get());
+		
+		assertEquals(
+			template.render(Map.of("player", "Steve", "amount", 3, "balance", 2)),
+			template.render(PlaceholderContext.of(Map.of("player", "Steve", "amount", 3, "balance", 2)))
+		);
+		assertThrows(MessageFormattingException.class, () -> template.render(new PlaceholderContext()));
+		assertNull(PlaceholderContext.of(Map.of("unreferenced", 1)).get(PlaceholderKey.of("referenced")));
+		assertNull(PlaceholderKey.find("unreferenced"));
+	}
+	
+	@Test
+	public void placeholderProviders() {
+		final @NotNull PlaceholderProviders providers = this.translator.getProviders();
+		final @NotNull AtomicInteger        online    = new AtomicInteger();
+		final @NotNull AtomicInteger        pings     = new AtomicInteger();
+		providers.register(PlaceholderProvider.ofStatic("server", () -> "Lobby"));
+		providers.register(PlaceholderProvider.perTick("online", online::incrementAndGet));
+		providers.register(PlaceholderProvider.perPlayerTick("ping", String.class, player -> player.length() * 10 + pings.incrementAndGet()));
+		
+		final @NotNull CompiledTemplate template = this.translator.compile("${server}: ${online} online");
+		assertEquals("Lobby: 1 online", this.translator.render(template, (Map<String, Object>) null).get(0).getContent());
+		assertEquals("Lobby: 1 online", this.translator.parse("${server}: ${online} online", Map.of()).get(0).getContent());
+		assertEquals("Hub: 1 online", this.translator.render(template, Map.of("server", "Hub")).get(0).getContent());
+		providers.tick();
+		assertEquals("Lobby: 2 online", this.translator.render(template, (Map<String, Object>) null).get(0).getContent());
+		assertEquals("Lobby: 2 online", this.translator.render(template, new PlaceholderContext()).get(0).getContent());
+		assertEquals("Hub: 2 online", this.translator.render(template, new PlaceholderContext().set(PlaceholderKey.of("server"), "Hub")).get(0).getContent());
+		assertEquals(2, online.get());
+		
+		assertEquals("52 52 51", this.translator.parse("${ping} ${ping} ${other}", providers.context("Steve", Map.of("other", providers.get("ping", "Notch")))).get(0).getContent());
+		assertEquals("52", this.translator.parse("${ping}", providers.context("Steve")).get(0).getContent());
+		assertEquals(2, pings.get());
+		assertThrows(IllegalArgumentException.class, () -> this.translator.parse("${ping}", Map.of()));
+		providers.tick();
+		assertEquals("53", this.translator.parse("${ping}", providers.context("Steve")).get(0).getContent());
+		assertTrue(providers.unregister("ping"));
+		assertFalse(providers.unregister("ping"));
+		
+		final @NotNull AtomicLong           clock = new AtomicLong();
+		final @NotNull PlaceholderProviders timed = new PlaceholderProviders(clock::get);
+		timed.register(PlaceholderProvider.timed("time", Duration.ofSeconds(1), clock::get));
+		assertEquals(0L, timed.get("time", null));
+		clock.set(999_999_999L);
+		assertEquals(0L, timed.get("time", null));
+		clock.set(1_000_000_000L);
+		assertEquals(1_000_000_000L, timed.get("time", null));
+	}
+	
+	@Test
+	public void json() {
+		final @NotNull TranslatorJsonAdapter   adapter       = new TranslatorJsonAdapter();
+		final @NotNull TranslatorBukkitAdapter bukkitAdapter = new TranslatorBukkitAdapter();
+		final @NotNull GsonComponentSerializer gson          = GsonComponentSerializer.gson();
+		
+		for(final @NotNull String source : List.of(
+			"",
+			"a <b> &\n\"c\"",
+			"@{red:bold}Hi",
+			"@{#51d51d}Hex @{gold:italic}${player}",
+			"#{link:https://example.com/?a=1}#{text:(@{gray}Hover)}Go{/#}{/#}"
+		)) {
+			final @NotNull Map<String, Object> context = Map.of("player", "Steve");
+			assertEquals(gson.serialize(bukkitAdapter.translate(source, context)), adapter.translate(source, context));
+			assertEquals(gson.serialize(bukkitAdapter.translate(bukkitAdapter.compile(source), context)), adapter.translate(adapter.compile(source), context));
+		}
+		assertTrue(adapter.translate("@{red}Hi").contains("\"color\":\"red\""));
+	}
+	
+	@Test
+	public void jsonNested() {
+		final @NotNull TranslatorJsonAdapter adapter = new TranslatorJsonAdapter();
+		final @NotNull String                player  = adapter.translate("@{red}Steve");
+		final @NotNull String                server  = adapter.translateUntrusted("@{gray}Lobby", ParseProfile.CHAT);
+		final @NotNull Map<String, Object>   context = Map.of("player", (Supplier<String>) () -> adapter.translate("@{red}St${rest}", Map.of("rest", "eve")));
+		adapter.getProviders().register(PlaceholderProvider.ofStatic("server", () -> adapter.translateUntrusted("@{gray}Lobby", ParseProfile.CHAT)));
+		
+		final @NotNull String source = "@{gold}Paid " + player + " on " + server;
+		assertEquals(adapter.translate(source), adapter.translate("@{gold}Paid ${player} on ${server}", context));
+		assertEquals(adapter.translate(adapter.compile(source)), adapter.translate(adapter.compile("@{gold}Paid ${player} on ${server}"), context));
+	}
+	
+	@Test
+	public void console() {
+		final @NotNull TranslatorConsoleAdapter adapter = new TranslatorConsoleAdapter();
+		final @NotNull String source = "Paid @{gold:bold}${amount} coins @{}to #{text:(@{gray}Hover)}@{#51d51d}${player}{/#}";
+		final @NotNull Map<String, Object> context = Map.of("amount", 12, "player", "Steve");
+		final @NotNull String ansi = "Paid \u001b[0;1;38;2;255;170;0m12 coins \u001b[0mto \u001b[0;38;2;81;213;29mSteve\u001b[0m";
+		
+		assertEquals("Paid 12 coins to Steve", adapter.translatePlain(source, context));
+		assertEquals("Paid 12 coins to Steve", adapter.translatePlain(adapter.compile(source), context));
+		assertEquals(ansi, adapter.translateAnsi(source, context));
+		assertEquals(ansi, adapter.translateAnsi(adapter.compile(source), context));
+	}
+	
+	@Test
+	public void consoleNested() {
+		final @NotNull TranslatorConsoleAdapter adapter = new TranslatorConsoleAdapter();
+		final @NotNull Map<String, Object> context = Map.of("player", (Supplier<String>) () -> adapter.translatePlain("@{red}St${rest}", Map.of("rest", "eve")));
+		adapter.getProviders().register(PlaceholderProvider.ofStatic("server", () -> adapter.translatePlain("@{gray}Lobby")));
+		
+		assertEquals("Paid Steve on Lobby", adapter.translatePlain("@{gold}Paid ${player} on ${server}", context));
+		assertEquals("\u001b[0;38;2;255;170;0mPaid Steve on Lobby\u001b[0m", adapter.translateAnsi("@{gold}Paid ${player} on ${server}", context));
+		assertEquals("Paid 12", adapter.translatePlain("@{gold}Paid ${amount}", Map.of("amount", 12)));
+	}
+	
+	@Test
+	public void compiledSharedHover() {
+		final @NotNull CompiledTemplate first  = this.translator.compile("#{text:(@{gray}Sells for @{gold}100 coins)}${item}{/#}");
+		final @NotNull CompiledTemplate second = this.translator.compile("#{text:(@{gray}Sells for @{gold}100 coins)}Stone{/#}");
+		final @NotNull Message.Hover<?> hover = first.render(Map.of("item", "Dirt")).get(0).getHoverEvent();
+		assertNotNull(hover);
+		assertSame(hover, first.render(Map.of("item", "Sand")).get(0).getHoverEvent());
+		assertSame(hover, second.render().get(0).getHoverEvent());
+	}
+	
+	@Test
+	public void keywords() {
+		assertSame(Message.Color.RED, Message.Color.matchColor("RED"));
+		assertSame(Message.Color.DARK_GRAY, Message.Color.matchColor("Dark_Grey"));
+		assertSame(Message.Color.GOLD, Message.Color.matchColor("@{gold}", 2, 6));
+		assertEquals(Message.Color.color(0x51d51d), Message.Color.matchColor("#51D51D"));
+		assertEquals(Message.Color.color(255), Message.Color.matchColor("255"));
+		assertNull(Message.Color.matchColor("#ffffffff"));
+		assertNull(Message.Color.matchColor("#"));
+		assertNull(Message.Color.matchColor("re"));
+		assertSame(Message.Decoration.BOLD, Message.Decoration.matchDecoration("Bold"));
+		assertSame(Message.Click.Action.OPEN_URL, Message.Click.Action.matchClickAction("LINK"));
+		assertSame(Message.Hover.Action.SHOW_TEXT, Message.Hover.Action.matchHoverAction("show_text"));
+	}
+	
+	@Test
+	public void allocations() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		final @NotNull com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final long thread = Thread.currentThread().getId();
+		
+		final @NotNull String source = "@{gray}Damage: @{red:bold}12 @{gray}Speed: @{green}1.6 @{gray}Range: @{aqua}3.5 @{gray}Price: @{gold}$$${1} @{gray}Owner: @{#ffff55}Steve";
+		final int[] segments = new int[1];
+		final @NotNull MessageLexer.Handler handler = new MessageLexer.Handler() {
+			
+			@Override
+			public void text(@NotNull String text) {
+				segments[0]++;
+			}
+			
+			@Override
+			public void slot(@NotNull CompiledTemplate.Slot slot) {
+			}
+			
+			@Override
+			public void style(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+			}
+			
+			@Override
+			public void click(@NotNull Message.Click<?> click) {
+			}
+			
+			@Override
+			public void click(@NotNull Message.Click.Action action, @NotNull List<Object> value) {
+			}
+			
+			@Override
+			public void beginHover() {
+			}
+			
+			@Override
+			public void endHover(int start, int end) {
+			}
+			
+			@Override
+			public void end() {
+			}
+			
+		};
+		
+		final int iterations = 10_000;
+		for(int i = 0; i < iterations; i++) {
+			new MessageLexer(source, handler, ParseProfile.TRUSTED, false, null).lex();
+		}
+		segments[0] = 0;
+		
+		final long before = bean.getThreadAllocatedBytes(thread);
+		for(int i = 0; i < iterations; i++) {
+			new MessageLexer(source, handler, ParseProfile.TRUSTED, false, null).lex();
+		}
+		final long perParse = (bean.getThreadAllocatedBytes(thread) - before) / iterations;
+		
+		assertEquals(10 * iterations, segments[0]);
+		// One string per segment, the decorations and the lexer itself, modifiers are matched without allocating
+		assertTrue(perParse < 1024, "allocated " + perParse + " bytes per parse");
+	}
+	
 }
@@ -0,0 +1,175 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranslatorBukkitAdapterTest {
+	
+	private static final @NotNull List<String> SOURCES = List.of(
+		"Hello, World!",
+		"@{red}Hello, @{#51d51d:bold:italic}${player}@{}!",
+		"@{dark_gray}[@{gold:bold}VIP@{dark_gray}] #{suggest:/msg ${player} }#{text:(@{gray}Click to message)}@{yellow}${player}{/#}{/#}@{dark_gray}: @{white}${message}",
+		"#{link:https://example.com}@{aqua:underline}Website{/#} #{page:2}@{gold}Next page{/#} #{copy:${player}}Copy{/#}"
+	);
+	
+	private static final @NotNull Map<String, Object> CONTEXT = Map.of("player", "Steve", "message", "Hello, World!");
+	
+	private final @NotNull TranslatorBukkitAdapter translator = new TranslatorBukkitAdapter();
+	
+	/**
+	 * Converts the messages the way they were converted before styles were converted once, chaining every part of the style.
+	 */
+	@SuppressWarnings("unchecked")
+	private static @NotNull Component chained(@NotNull List<Message> messages) {
+		final @NotNull TextComponent.Builder builder = Component.text();
+		for(final @NotNull Message message : messages) {
+			@NotNull Component component = Component.text(message.getContent());
+			if(message.getColor() != null) component = component.color(TextColor.color(message.getColor().getValue()));
+			for(final @NotNull TextDecoration decoration : TextDecoration.values()) {
+				component = component.decoration(decoration, message.hasDecoration(Message.Decoration.valueOf(decoration.name())));
+			}
+			final @Nullable Message.Click<?> click = message.getClickEvent();
+			if(click != null) component = component.clickEvent(switch(click.getAction()) {
+				case CHANGE_PAGE -> ClickEvent.changePage((int) click.getValue());
+				case COPY_TO_CLIPBOARD -> ClickEvent.copyToClipboard((String) click.getValue());
+				case OPEN_FILE -> ClickEvent.openFile((String) click.getValue());
+				case OPEN_URL -> ClickEvent.openUrl((String) click.getValue());
+				case RUN_COMMAND -> ClickEvent.runCommand((String) click.getValue());
+				case SUGGEST_COMMAND -> ClickEvent.suggestCommand((String) click.getValue());
+			});
+			final @Nullable Message.Hover<?> hover = message.getHoverEvent();
+			if(hover != null) component = component.hoverEvent(HoverEvent.showText(chained((List<Message>) hover.getValue())));
+			builder.append(component);
+		}
+		return builder.build();
+	}
+	
+	@Test
+	public void template() {
+		for(final @NotNull String source : SOURCES) {
+			final @NotNull CompiledTemplate template = this.translator.compile(source);
+			final @NotNull Component        expected = chained(this.translator.parse(source, CONTEXT));
+			assertEquals(expected, this.translator.translate(template, CONTEXT), source);
+			assertEquals(expected, this.translator.translate(template, CONTEXT), source);
+			assertEquals(expected, this.translator.translate(template, PlaceholderContext.of(CONTEXT)), source);
+		}
+	}
+	
+	@Test
+	public void source() {
+		for(final @NotNull String source : SOURCES) {
+			final @NotNull Component expected = this.translator.parseInto(source, CONTEXT, new ChainedSink());
+			assertEquals(expected, this.translator.translate(source, CONTEXT), source);
+			assertEquals(expected, this.translator.translate(source, CONTEXT), source);
+		}
+	}
+	
+	/**
+	 * The component sink as it was before styles were converted once.
+	 */
+	private static final class ChainedSink implements MessageSink<Component> {
+		
+		private final @NotNull ArrayList<TextComponent.Builder> builders = new ArrayList<>();
+		
+		private boolean styled = false;
+		
+		private ChainedSink() {
+			this.builders.add(Component.text());
+		}
+		
+		private @NotNull TextComponent.Builder current() {
+			return this.builders.get(this.builders.size() - 1);
+		}
+		
+		@Override
+		public void text(@NotNull String text) {
+			@NotNull Component component = Component.text(text);
+			if(!this.styled) {
+				for(final @NotNull TextDecoration decoration : TextDecoration.values()) {
+					component = component.decoration(decoration, false);
+				}
+			}
+			this.current().append(component);
+		}
+		
+		@Override
+		public void pushStyle(@Nullable Message.Color color, @NotNull List<Message.Decoration> decorations) {
+			final @NotNull TextComponent.Builder builder = Component.text().color(color != null ? TextColor.color(color.getValue()) : null);
+			for(final @NotNull TextDecoration decoration : TextDecoration.values()) {
+				builder.decoration(decoration, decorations.contains(Message.Decoration.valueOf(decoration.name())));
+			}
+			this.builders.add(builder);
+			this.styled = true;
+		}
+		
+		@Override
+		public void pushClick(@NotNull Message.Click<?> click) {
+			this.builders.add(Component.text().clickEvent(switch(click.getAction()) {
+				case CHANGE_PAGE -> ClickEvent.changePage((int) click.getValue());
+				case COPY_TO_CLIPBOARD -> ClickEvent.copyToClipboard((String) click.getValue());
+				case OPEN_FILE -> ClickEvent.openFile((String) click.getValue());
+				case OPEN_URL -> ClickEvent.openUrl((String) click.getValue());
+				case RUN_COMMAND -> ClickEvent.runCommand((String) click.getValue());
+				case SUGGEST_COMMAND -> ClickEvent.suggestCommand((String) click.getValue());
+			}));
+		}
+		
+		@Override
+		public void pushHover(@NotNull Component content) {
+			this.builders.add(Component.text().hoverEvent(HoverEvent.showText(content)));
+		}
+		
+		@Override
+		public void pop() {
+			final @NotNull Component component = this.builders.remove(this.builders.size() - 1).build();
+			this.current().append(component);
+			this.styled = false;
+		}
+		
+		@Override
+		public @NotNull MessageSink<Component> fork() {
+			return new ChainedSink();
+		}
+		
+		@Override
+		public @NotNull Component result() {
+			return this.builders.get(0).build();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,84 @@
+/*
+ * Cobalt - a Minecraft Bungeecord and Bukkit library.
+ * Copyright (c) 2022.  Oliwier Miodun  <naczs@n-mind.pl>
+ * Copyright (c) 2022.  Blueflow        <support@blueflow.pl>
+ *
+ * This file is part of Cobalt.
+ *
+ * Cobalt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * Cobalt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Cobalt.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pl.blueflow.cobalt.message;
+
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranslatorBungeeAdapterTest {
+	
+	private final @NotNull TranslatorBungeeAdapter translator = new TranslatorBungeeAdapter();
+	
+	/**
+	 * Modifies the first component and the first component of its hover, the way callers commonly do.
+	 */
+	private static void modify(@NotNull BaseComponent[] components) {
+		components[0].setColor(ChatColor.BLUE);
+		components[0].addExtra("!");
+		final @NotNull Text hover = (Text) components[0].getHoverEvent().getContents().get(0);
+		((BaseComponent[]) hover.getValue())[0].setColor(ChatColor.GREEN);
+		components[0].getHoverEvent().addContent(new Text("extra"));
+	}
+	
+	@Test
+	public void providers() {
+		this.translator.getProviders().register(PlaceholderProvider.ofStatic("server", () -> "Proxy"));
+		final @NotNull CompiledTemplate template = this.translator.compile("@{gray}Connected to ${server} as ${player}");
+		assertEquals("Connected to Proxy as Steve", BaseComponent.toPlainText(this.translator.translate(template, Map.of("player", "Steve"))));
+		assertEquals("Connected to Proxy as Steve", BaseComponent.toPlainText(this.translator.translate(template, PlaceholderContext.of(Map.of("player", "Steve")))));
+		assertEquals("Connected to Lobby as Steve", BaseComponent.toPlainText(this.translator.translate(template, Map.of("player", "Steve", "server", "Lobby"))));
+	}
+	
+	@Test
+	public void staticTemplateCopies() {
+		final @NotNull CompiledTemplate template = this.translator.compile("#{text:(@{red}Hi there!)}@{bold}Hello, World!{/#}");
+		final @NotNull BaseComponent[]  first    = this.translator.translate(template);
+		final @NotNull String           expected = ComponentSerializer.toString(first);
+		modify(first);
+		
+		final @NotNull BaseComponent[] second = this.translator.translate(template);
+		assertNotSame(first[0], second[0]);
+		assertNotSame(first[0].getHoverEvent(), second[0].getHoverEvent());
+		assertEquals(expected, ComponentSerializer.toString(second));
+		assertEquals(expected, ComponentSerializer.toString(this.translator.translate(template, new PlaceholderContext())));
+	}
+	
+	@Test
+	public void sharedStyleCopies() {
+		final @NotNull String          source   = "#{text:(@{red}Hi there!)}@{bold}Hello, ${player}!{/#}";
+		final @NotNull BaseComponent[] first    = this.translator.translate(source, Map.of("player", "Steve"));
+		final @NotNull String          expected = ComponentSerializer.toString(first);
+		modify(first);
+		
+		assertEquals(expected, ComponentSerializer.toString(this.translator.translate(source, Map.of("player", "Steve"))));
+		assertEquals(expected, ComponentSerializer.toString(this.translator.translate(this.translator.compile(source), Map.of("player", "Steve"))));
+	}
+	
+}